@@ -0,0 +1,132 @@
+package ru.nsu.lebedev;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of parsing, simplification, differentiation and evaluation
+ * on generated formulas of given depth, columnar eval goes over x from 0 to 10^7.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+    private static final String[] VARIABLES = {"x", "y", "z"};
+    private static final int ROWS = 10_000_000;
+
+    @Param({"5", "10", "20", "30"})
+    private int depth;
+
+    private String text;
+    private Expression expression;
+    private Map<String, Integer> env;
+    private Bytecode bytecode;
+    private int[] slots;
+    private Map<String, int[]> columns;
+    private int[] out;
+
+    /**
+     * Generates the formula and its bindings.
+     */
+    @Setup
+    public void setUp() {
+        expression = generate(new Random(depth), depth);
+        text = expression.toString();
+        env = new HashMap<>();
+        env.put("x", 3);
+        env.put("y", -2);
+        env.put("z", 5);
+        bytecode = Bytecode.compile(expression);
+        String[] names = bytecode.variables();
+        slots = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            slots[i] = env.get(names[i]);
+        }
+        int[] xs = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            xs[i] = i;
+        }
+        int[] ys = new int[ROWS];
+        int[] zs = new int[ROWS];
+        Arrays.fill(ys, -2);
+        Arrays.fill(zs, 5);
+        columns = Map.of("x", xs, "y", ys, "z", zs);
+        out = new int[ROWS];
+    }
+
+    @Benchmark
+    public Expression parse() {
+        return ExpressionParser.parse(text);
+    }
+
+    @Benchmark
+    public Expression simplify() {
+        return expression.simplify();
+    }
+
+    @Benchmark
+    public Expression derivative() {
+        return expression.derivative("x").derivative("x").derivative("y");
+    }
+
+    @Benchmark
+    public int evalMap() {
+        return expression.eval(env);
+    }
+
+    @Benchmark
+    public int evalSlots() {
+        return bytecode.eval(slots);
+    }
+
+    @Benchmark
+    public int[] evalColumnar() {
+        expression.evalColumnar(columns, out);
+        return out;
+    }
+
+    /**
+     * Generates a formula whose depth grows linearly with its size:
+     * one operand is a deep subtree and the other one is at most two levels deep.
+     */
+    private static Expression generate(Random random, int depth) {
+        if (depth == 0) {
+            if (random.nextBoolean()) {
+                return new Number(random.nextInt(9) + 1);
+            }
+            return new Variable(VARIABLES[random.nextInt(VARIABLES.length)]);
+        }
+        Expression deep = generate(random, depth - 1);
+        Expression shallow = generate(random, Math.min(depth - 1, 2));
+        Expression left = random.nextBoolean() ? deep : shallow;
+        Expression right = left == deep ? shallow : deep;
+        switch (random.nextInt(4)) {
+            case 0:
+                return new Add(left, right);
+            case 1:
+                return new Sub(left, right);
+            case 2:
+                return new Mul(left, right);
+            default:
+                return new Div(deep, new Number(random.nextInt(9) + 1));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.nsu.lebedev;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of evaluating a derivative before and after simplification
+ * and of the simplification itself, on full random trees of given depth.
+ * The nodes benchmark reports the sizes of both trees as nodesBefore and nodesAfter.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimplifyBenchmark {
+    @Param({"2", "4", "6", "8"})
+    private int depth;
+
+    private Expression derivative;
+    private Expression simplified;
+    private Map<String, Integer> env;
+
+    /**
+     * Generates the formula and differentiates it.
+     */
+    @Setup
+    public void setUp() {
+        derivative = RandomExpressions.generate(new Random(depth), depth).derivative("x");
+        simplified = derivative.simplify();
+        env = new HashMap<>();
+        env.put("x", 3);
+        env.put("y", -2);
+        env.put("z", 5);
+    }
+
+    @Benchmark
+    public int evalDerivative() {
+        return derivative.eval(env);
+    }
+
+    @Benchmark
+    public int evalSimplified() {
+        return simplified.eval(env);
+    }
+
+    @Benchmark
+    public Expression simplify() {
+        return derivative.simplify();
+    }
+
+    /**
+     * One shot, because JMH sums event counters over the iterations.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void nodes(NodeCounts counts) {
+        counts.nodesBefore = derivative.nodeCount();
+        counts.nodesAfter = simplified.nodeCount();
+    }
+
+    /**
+     * Node counts of the derivative and of its simplified form.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NodeCounts {
+        public int nodesBefore;
+        public int nodesAfter;
+    }
+}
@@ -1,6 +1,8 @@
 package ru.nsu.lebedev;
 
+import java.math.BigInteger;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Class with addition realisation.
@@ -18,25 +20,14 @@ public class Add extends Expression {
     }
 
     /**
-     * Rule a: Evaluate if both sides are numbers.
+     * Chains of additions, subtractions and multiplications are flattened,
+     * constants are folded and like terms are collected.
      *
      * @return simplify Expression.
      */
     @Override
     public Expression simplify() {
-        Expression simplifiedLeft = left.simplify();
-        Expression simplifiedRight = right.simplify();
-        if (simplifiedLeft instanceof Number && simplifiedRight instanceof Number) {
-            int result = simplifiedLeft.eval(Map.of()) + simplifiedRight.eval(Map.of());
-            return new Number(result);
-        }
-        if (simplifiedLeft instanceof Number && ((Number) simplifiedLeft).eval(Map.of()) == 0) {
-            return simplifiedRight;
-        }
-        if (simplifiedRight instanceof Number && ((Number) simplifiedRight).eval(Map.of()) == 0) {
-            return simplifiedLeft;
-        }
-        return new Add(simplifiedLeft, simplifiedRight);
+        return toPolynomial().toExpression();
     }
 
     /**
@@ -62,4 +53,70 @@ public class Add extends Expression {
     public int eval(Map<String, Integer> env) {
         return left.eval(env) + right.eval(env);
     }
+
+    /**
+     * Function with checked long eval of addition.
+     */
+    @Override
+    public long evalLong(Map<String, Integer> env) {
+        return Math.addExact(left.evalLong(env), right.evalLong(env));
+    }
+
+    /**
+     * Function with double eval of addition.
+     */
+    @Override
+    public double evalDouble(Map<String, Integer> env) {
+        return left.evalDouble(env) + right.evalDouble(env);
+    }
+
+    /**
+     * Function with columnar eval of addition.
+     */
+    @Override
+    void evalBlock(Map<String, int[]> columns, int from, int length, int[] out,
+                   ColumnBuffers buffers, int level) {
+        left.evalBlock(columns, from, length, out, buffers, level);
+        int[] rightColumn = buffers.get(level);
+        right.evalBlock(columns, from, length, rightColumn, buffers, level + 1);
+        for (int i = 0; i < length; i++) {
+            out[i] += rightColumn[i];
+        }
+    }
+
+    /**
+     * Function with interval eval of addition.
+     */
+    @Override
+    public Interval evalInterval(Map<String, Interval> ranges) {
+        return left.evalInterval(ranges).add(right.evalInterval(ranges));
+    }
+
+    @Override
+    Polynomial toPolynomial() {
+        return left.toPolynomial().add(right.toPolynomial());
+    }
+
+    @Override
+    void collectVariables(Set<String> names) {
+        left.collectVariables(names);
+        right.collectVariables(names);
+    }
+
+    @Override
+    BigInteger evalExact(Map<String, Integer> env) {
+        return left.evalExact(env).add(right.evalExact(env));
+    }
+
+    @Override
+    void compile(Bytecode.Builder builder) {
+        left.compile(builder);
+        right.compile(builder);
+        builder.operator(Bytecode.ADD);
+    }
+
+    @Override
+    int nodeCount() {
+        return 1 + left.nodeCount() + right.nodeCount();
+    }
 }
@@ -0,0 +1,377 @@
+package ru.nsu.lebedev;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact binary form of an expression: postfix code for a stack machine.
+ * Layout: magic byte, max stack depth, constant pool, variable table and code.
+ * All integers are varints, constants are zigzag encoded so small negatives stay short,
+ * variable names are UTF-8 strings prefixed with their length.
+ * The code is evaluated directly without rebuilding expression objects.
+ */
+public final class Bytecode {
+    static final int CONST = 0;
+    static final int VAR = 1;
+    static final int ADD = 2;
+    static final int SUB = 3;
+    static final int MUL = 4;
+    static final int DIV = 5;
+    private static final int MAGIC = 0xE1;
+
+    private final byte[] data;
+    private final int maxStack;
+    private final int[] constants;
+    private final String[] variables;
+    private final byte[] code;
+
+    private Bytecode(byte[] data, int maxStack, int[] constants, String[] variables, byte[] code) {
+        this.data = data;
+        this.maxStack = maxStack;
+        this.constants = constants;
+        this.variables = variables;
+        this.code = code;
+    }
+
+    /**
+     * Encodes an expression.
+     *
+     * @param expression expression to encode.
+     * @return Bytecode.
+     */
+    public static Bytecode compile(Expression expression) {
+        Builder builder = new Builder();
+        expression.compile(builder);
+        return builder.build();
+    }
+
+    /**
+     * Decodes bytes written by toByteArray.
+     *
+     * @param data encoded expression.
+     * @return Bytecode.
+     * @throws IllegalArgumentException if the data is malformed.
+     */
+    public static Bytecode fromByteArray(byte[] data) {
+        Reader reader = new Reader(data, 0, data.length);
+        if (reader.readVarint() != MAGIC) {
+            throw new IllegalArgumentException("Not an expression bytecode");
+        }
+        int maxStack = reader.readVarint();
+        int[] constants = new int[reader.readCount()];
+        for (int i = 0; i < constants.length; i++) {
+            int zigzag = reader.readVarint();
+            constants[i] = (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+        String[] variables = new String[reader.readCount()];
+        for (int i = 0; i < variables.length; i++) {
+            int length = reader.readCount();
+            variables[i] = new String(reader.readBytes(length), StandardCharsets.UTF_8);
+        }
+        byte[] code = reader.readBytes(reader.readCount());
+        if (reader.hasNext()) {
+            throw new IllegalArgumentException("Trailing data after code");
+        }
+        Bytecode bytecode = new Bytecode(data.clone(), maxStack, constants, variables, code);
+        bytecode.validate();
+        return bytecode;
+    }
+
+    /**
+     * Returns encoded bytes.
+     *
+     * @return copy of encoded bytes.
+     */
+    public byte[] toByteArray() {
+        return data.clone();
+    }
+
+    /**
+     * Returns names of variables in the order of slots for eval(int[]).
+     *
+     * @return copy of variable table.
+     */
+    public String[] variables() {
+        return variables.clone();
+    }
+
+    /**
+     * Function with eval of encoded expression, a missing variable is 0 as in Expression.
+     */
+    public int eval(Map<String, Integer> env) {
+        int[] slots = new int[variables.length];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = env.getOrDefault(variables[i], 0);
+        }
+        return eval(slots);
+    }
+
+    /**
+     * Function with eval of encoded expression.
+     *
+     * @param slots values of variables in the order of variables().
+     * @return value of the expression.
+     */
+    public int eval(int[] slots) {
+        int[] stack = new int[maxStack];
+        int top = 0;
+        int pc = 0;
+        while (pc < code.length) {
+            int op = code[pc++];
+            if (op == CONST || op == VAR) {
+                int index = 0;
+                int shift = 0;
+                int b;
+                do {
+                    b = code[pc++];
+                    index |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                stack[top++] = op == CONST ? constants[index] : slots[index];
+                continue;
+            }
+            int right = stack[--top];
+            int left = stack[top - 1];
+            switch (op) {
+                case ADD:
+                    stack[top - 1] = left + right;
+                    break;
+                case SUB:
+                    stack[top - 1] = left - right;
+                    break;
+                case MUL:
+                    stack[top - 1] = left * right;
+                    break;
+                default:
+                    stack[top - 1] = left / right;
+                    break;
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Function with rebuilding expression objects from the code.
+     *
+     * @return Expression.
+     */
+    public Expression toExpression() {
+        Expression[] stack = new Expression[maxStack];
+        int top = 0;
+        Reader reader = new Reader(code, 0, code.length);
+        while (reader.hasNext()) {
+            int op = reader.readByte();
+            if (op == CONST) {
+                stack[top++] = new Number(constants[reader.readVarint()]);
+            } else if (op == VAR) {
+                stack[top++] = new Variable(variables[reader.readVarint()]);
+            } else {
+                Expression right = stack[--top];
+                Expression left = stack[top - 1];
+                switch (op) {
+                    case ADD:
+                        stack[top - 1] = new Add(left, right);
+                        break;
+                    case SUB:
+                        stack[top - 1] = new Sub(left, right);
+                        break;
+                    case MUL:
+                        stack[top - 1] = new Mul(left, right);
+                        break;
+                    default:
+                        stack[top - 1] = new Div(left, right);
+                        break;
+                }
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Replays the code in postfix order without building expression objects.
+     *
+     * @param visitor receiver of every instruction.
+     */
+    void accept(Visitor visitor) {
+        Reader reader = new Reader(code, 0, code.length);
+        while (reader.hasNext()) {
+            int op = reader.readByte();
+            if (op == CONST) {
+                visitor.constant(constants[reader.readVarint()]);
+            } else if (op == VAR) {
+                visitor.variable(variables[reader.readVarint()]);
+            } else {
+                visitor.operator(op);
+            }
+        }
+    }
+
+    /**
+     * Checks that the code is well formed, so eval never leaves the stack bounds.
+     */
+    private void validate() {
+        Reader reader = new Reader(code, 0, code.length);
+        int depth = 0;
+        int max = 0;
+        while (reader.hasNext()) {
+            int op = reader.readByte();
+            if (op == CONST || op == VAR) {
+                int index = reader.readVarint();
+                int limit = op == CONST ? constants.length : variables.length;
+                if (index < 0 || index >= limit) {
+                    throw new IllegalArgumentException("Index out of pool: " + index);
+                }
+                depth++;
+            } else if (op >= ADD && op <= DIV) {
+                depth--;
+                if (depth < 1) {
+                    throw new IllegalArgumentException("Stack underflow");
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown opcode: " + op);
+            }
+            max = Math.max(max, depth);
+        }
+        if (depth != 1 || max != maxStack) {
+            throw new IllegalArgumentException("Malformed code");
+        }
+    }
+
+    /**
+     * Receiver of instructions in postfix order, operators take the two last values.
+     */
+    interface Visitor {
+        void constant(int value);
+
+        void variable(String name);
+
+        void operator(int op);
+    }
+
+    /**
+     * Sequential reader of varints and bytes.
+     */
+    private static final class Reader {
+        private final byte[] data;
+        private final int end;
+        private int position;
+
+        private Reader(byte[] data, int position, int end) {
+            this.data = data;
+            this.position = position;
+            this.end = end;
+        }
+
+        private boolean hasNext() {
+            return position < end;
+        }
+
+        private int readByte() {
+            if (position >= end) {
+                throw new IllegalArgumentException("Unexpected end of bytecode");
+            }
+            return data[position++];
+        }
+
+        private int readVarint() {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                result |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Varint is too long");
+        }
+
+        /**
+         * Reads a length or a number of entries, every entry takes at least one byte,
+         * so a count larger than the rest of data is rejected before any allocation.
+         */
+        private int readCount() {
+            int count = readVarint();
+            if (count < 0 || count > end - position) {
+                throw new IllegalArgumentException("Count out of data: " + count);
+            }
+            return count;
+        }
+
+        private byte[] readBytes(int length) {
+            if (length < 0 || length > end - position) {
+                throw new IllegalArgumentException("Unexpected end of bytecode");
+            }
+            byte[] result = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return result;
+        }
+    }
+
+    /**
+     * Collects code, constant pool and variable table while nodes are visited in postfix order.
+     */
+    static final class Builder {
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        private final Map<Integer, Integer> constants = new LinkedHashMap<>();
+        private final Map<String, Integer> variables = new LinkedHashMap<>();
+        private int depth;
+        private int maxDepth;
+
+        void constant(int value) {
+            code.write(CONST);
+            writeVarint(code, constants.computeIfAbsent(value, key -> constants.size()));
+            push();
+        }
+
+        void variable(String name) {
+            code.write(VAR);
+            writeVarint(code, variables.computeIfAbsent(name, key -> variables.size()));
+            push();
+        }
+
+        void operator(int op) {
+            code.write(op);
+            depth--;
+        }
+
+        private void push() {
+            depth++;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private Bytecode build() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeVarint(out, MAGIC);
+            writeVarint(out, maxDepth);
+            writeVarint(out, constants.size());
+            int[] pool = new int[constants.size()];
+            for (Map.Entry<Integer, Integer> constant : constants.entrySet()) {
+                int value = constant.getKey();
+                writeVarint(out, (value << 1) ^ (value >> 31));
+                pool[constant.getValue()] = value;
+            }
+            writeVarint(out, variables.size());
+            for (String name : variables.keySet()) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length);
+                out.write(bytes, 0, bytes.length);
+            }
+            byte[] codeBytes = code.toByteArray();
+            writeVarint(out, codeBytes.length);
+            out.write(codeBytes, 0, codeBytes.length);
+            return new Bytecode(out.toByteArray(), maxDepth, pool,
+                    variables.keySet().toArray(new String[0]), codeBytes);
+        }
+
+        private static void writeVarint(ByteArrayOutputStream out, int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package ru.nsu.lebedev;
 
+import java.math.BigInteger;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Class with division realisation.
@@ -68,4 +70,79 @@ public class Div extends Expression {
     public int eval(Map<String, Integer> env) {
         return left.eval(env) / right.eval(env);
     }
+
+    /**
+     * Function with checked long eval of division.
+     */
+    @Override
+    public long evalLong(Map<String, Integer> env) {
+        long dividend = left.evalLong(env);
+        long divisor = right.evalLong(env);
+        if (dividend == Long.MIN_VALUE && divisor == -1) {
+            throw new ArithmeticException("long overflow");
+        }
+        return dividend / divisor;
+    }
+
+    /**
+     * Function with double eval of division.
+     */
+    @Override
+    public double evalDouble(Map<String, Integer> env) {
+        return left.evalDouble(env) / right.evalDouble(env);
+    }
+
+    /**
+     * Function with columnar eval of division.
+     */
+    @Override
+    void evalBlock(Map<String, int[]> columns, int from, int length, int[] out,
+                   ColumnBuffers buffers, int level) {
+        left.evalBlock(columns, from, length, out, buffers, level);
+        int[] rightColumn = buffers.get(level);
+        right.evalBlock(columns, from, length, rightColumn, buffers, level + 1);
+        for (int i = 0; i < length; i++) {
+            out[i] /= rightColumn[i];
+        }
+    }
+
+    /**
+     * Function with interval eval of division.
+     */
+    @Override
+    public Interval evalInterval(Map<String, Interval> ranges) {
+        return left.evalInterval(ranges).divide(right.evalInterval(ranges));
+    }
+
+    @Override
+    Polynomial toPolynomial() {
+        Expression simplified = simplify();
+        if (simplified instanceof Div) {
+            return Polynomial.atom(simplified);
+        }
+        return simplified.toPolynomial();
+    }
+
+    @Override
+    void collectVariables(Set<String> names) {
+        left.collectVariables(names);
+        right.collectVariables(names);
+    }
+
+    @Override
+    BigInteger evalExact(Map<String, Integer> env) {
+        return left.evalExact(env).divide(right.evalExact(env));
+    }
+
+    @Override
+    void compile(Bytecode.Builder builder) {
+        left.compile(builder);
+        right.compile(builder);
+        builder.operator(Bytecode.DIV);
+    }
+
+    @Override
+    int nodeCount() {
+        return 1 + left.nodeCount() + right.nodeCount();
+    }
 }
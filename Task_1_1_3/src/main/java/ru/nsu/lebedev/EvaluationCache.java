@@ -0,0 +1,301 @@
+package ru.nsu.lebedev;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded thread-safe memo cache of expression values.
+ * Entries are keyed by the canonical form of an expression and the values
+ * of its variables packed into an int array, values are always computed by the
+ * original expression, so they are the same as of Expression.eval.
+ * Reads go to a ConcurrentHashMap without locks and only set a reference bit of the entry
+ * if it is not set yet. Writes are split into segments with their own lock and byte budget,
+ * a segment evicts by the CLOCK order: an entry read since the last pass gets a second chance.
+ * Canonical forms are held weakly and forgotten when no handle or entry uses them.
+ */
+public final class EvaluationCache {
+    /**
+     * Estimated size of an entry without the packed values:
+     * key, entry object, map node and slot of the clock queue.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 120;
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final Map<String, CanonicalReference> canonicalForms = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Canonical> released = new ReferenceQueue<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Function with initialization.
+     *
+     * @param maxBytes estimated memory limit of all cached entries.
+     */
+    public EvaluationCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive");
+        }
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(Math.max(1, maxBytes / SEGMENTS));
+        }
+    }
+
+    /**
+     * Prepares an expression for cached evaluation.
+     * Expressions with the same canonical form share cached values. Integer addition,
+     * subtraction and multiplication wrap around, so the canonical sum of products
+     * has the same value, an expression with division is keyed by its own text because
+     * simplifying may drop a division by zero.
+     *
+     * @param expression expression to evaluate later.
+     * @return handle for eval.
+     */
+    public CachedExpression register(Expression expression) {
+        Expression canonical;
+        try {
+            canonical = expression.simplify();
+        } catch (ArithmeticException e) {
+            canonical = expression;
+        }
+        String original = expression.toString();
+        if (original.indexOf('/') >= 0) {
+            canonical = expression;
+        }
+        TreeSet<String> names = new TreeSet<>();
+        canonical.collectVariables(names);
+        return new CachedExpression(canonical(canonical.toString()), expression,
+                names.toArray(new String[0]));
+    }
+
+    /**
+     * Function with cached eval of a registered expression.
+     *
+     * @param expression handle returned by register.
+     * @param variables values of variables, a missing variable is 0 as in eval.
+     * @return value of the expression.
+     */
+    public int eval(CachedExpression expression, Map<String, Integer> variables) {
+        int[] binding = new int[expression.variables.length];
+        for (int i = 0; i < binding.length; i++) {
+            binding[i] = variables.getOrDefault(expression.variables[i], 0);
+        }
+        Key key = new Key(expression.canonical, binding);
+        Segment segment = segments[key.hash & (SEGMENTS - 1)];
+        Entry cached = segment.entries.get(key);
+        if (cached != null) {
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            hits.increment();
+            return cached.value;
+        }
+        misses.increment();
+        int value = expression.expression.eval(variables);
+        segment.put(key, value);
+        return value;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns estimated memory used by cached entries.
+     *
+     * @return size in bytes.
+     */
+    public long usedBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.usedBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Number of canonical forms still in use.
+     */
+    int canonicalForms() {
+        purge();
+        return canonicalForms.size();
+    }
+
+    /**
+     * Returns the live canonical form with the text or creates one with a new id.
+     */
+    private Canonical canonical(String text) {
+        purge();
+        while (true) {
+            CanonicalReference reference = canonicalForms.get(text);
+            Canonical canonical = reference == null ? null : reference.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            Canonical created = new Canonical(nextId.getAndIncrement());
+            CanonicalReference fresh = new CanonicalReference(text, created, released);
+            boolean stored = reference == null
+                    ? canonicalForms.putIfAbsent(text, fresh) == null
+                    : canonicalForms.replace(text, reference, fresh);
+            if (stored) {
+                return created;
+            }
+        }
+    }
+
+    private void purge() {
+        for (Reference<?> reference; (reference = released.poll()) != null; ) {
+            CanonicalReference cleared = (CanonicalReference) reference;
+            canonicalForms.remove(cleared.text, cleared);
+        }
+    }
+
+    /**
+     * Handle of an expression registered in the cache.
+     */
+    public static final class CachedExpression {
+        private final Canonical canonical;
+        private final Expression expression;
+        private final String[] variables;
+
+        private CachedExpression(Canonical canonical, Expression expression,
+                                 String[] variables) {
+            this.canonical = canonical;
+            this.expression = expression;
+            this.variables = variables;
+        }
+
+        public int id() {
+            return canonical.id;
+        }
+    }
+
+    /**
+     * Identity of a canonical form, kept alive by handles and cached entries.
+     */
+    private static final class Canonical {
+        private final int id;
+
+        private Canonical(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Weak link from the text of a canonical form to its identity.
+     */
+    private static final class CanonicalReference extends WeakReference<Canonical> {
+        private final String text;
+
+        private CanonicalReference(String text, Canonical canonical,
+                                   ReferenceQueue<Canonical> queue) {
+            super(canonical, queue);
+            this.text = text;
+        }
+    }
+
+    /**
+     * Key of cached value: canonical form and packed variable values.
+     */
+    private static final class Key {
+        private final Canonical canonical;
+        private final int[] binding;
+        private final int hash;
+
+        private Key(Canonical canonical, int[] binding) {
+            this.canonical = canonical;
+            this.binding = binding;
+            int h = 31 * canonical.id + Arrays.hashCode(binding);
+            this.hash = h ^ (h >>> 16);
+        }
+
+        private long bytes() {
+            return ENTRY_OVERHEAD_BYTES + 4L * binding.length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return canonical == other.canonical && Arrays.equals(binding, other.binding);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Cached value with the reference bit of CLOCK.
+     */
+    private static final class Entry {
+        private final int value;
+        private volatile boolean referenced;
+
+        private Entry(int value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Part of the cache with lock-free reads, its own write lock, clock queue and byte budget.
+     */
+    private final class Segment {
+        private final long maxBytes;
+        private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+        private final ArrayDeque<Key> clock = new ArrayDeque<>();
+        private long bytes;
+
+        private Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private synchronized void put(Key key, int value) {
+            if (entries.putIfAbsent(key, new Entry(value)) != null) {
+                return;
+            }
+            clock.addLast(key);
+            bytes += key.bytes();
+            while (bytes > maxBytes && !clock.isEmpty()) {
+                Key eldest = clock.pollFirst();
+                Entry entry = entries.get(eldest);
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    clock.addLast(eldest);
+                    continue;
+                }
+                entries.remove(eldest);
+                bytes -= eldest.bytes();
+                evictions.increment();
+            }
+        }
+
+        private synchronized long usedBytes() {
+            return bytes;
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package ru.nsu.lebedev;
 
+import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * An abstract class for all expressions.
  */
 abstract class Expression {
+    /**
+     * Number of rows of one block of evalColumnar.
+     */
+    static final int BLOCK_ROWS = 4096;
+
     /**
      * Function for printing.
      */
@@ -30,6 +38,37 @@ abstract class Expression {
      */
     public abstract int eval(Map<String, Integer> variables);
 
+    /**
+     * A method for calculating the value in long arithmetic.
+     *
+     * @throws ArithmeticException on overflow or division by zero.
+     */
+    public abstract long evalLong(Map<String, Integer> variables);
+
+    /**
+     * A method for calculating the value in double arithmetic, division is not truncated.
+     */
+    public abstract double evalDouble(Map<String, Integer> variables);
+
+    /**
+     * A method for calculating the exact value.
+     * Long arithmetic is tried first, so BigInteger objects are created only on overflow.
+     *
+     * @throws ArithmeticException on division by zero.
+     */
+    public BigInteger evalBigInteger(Map<String, Integer> variables) {
+        try {
+            return BigInteger.valueOf(evalLong(variables));
+        } catch (ArithmeticException e) {
+            return evalExact(variables);
+        }
+    }
+
+    /**
+     * A method for calculating the exact value in BigInteger arithmetic.
+     */
+    abstract BigInteger evalExact(Map<String, Integer> variables);
+
     /**
      * A method for parsing a string and calling eval with a variable map.
      */
@@ -38,11 +77,83 @@ abstract class Expression {
         return eval(varMap);
     }
 
+    /**
+     * A method for calculating the expression for every row of variable columns at once.
+     * The number of rows is the length of out, a missing variable is 0 as in eval.
+     * Rows are evaluated in blocks of BLOCK_ROWS, so the temporary columns stay in cache
+     * and are reused by every block.
+     */
+    public void evalColumnar(Map<String, int[]> columns, int[] out) {
+        ColumnBuffers buffers = new ColumnBuffers(Math.min(BLOCK_ROWS, out.length));
+        int[] block = buffers.get(0);
+        for (int from = 0; from < out.length; from += BLOCK_ROWS) {
+            int length = Math.min(BLOCK_ROWS, out.length - from);
+            evalBlock(columns, from, length, block, buffers, 1);
+            System.arraycopy(block, 0, out, from, length);
+        }
+    }
+
+    /**
+     * A method for calculating rows from..from + length - 1 into the start of out.
+     * Buffers from the level on are free, a binary expression keeps its right operand
+     * in the buffer of its level, so there are as many buffers as right operands nest.
+     */
+    abstract void evalBlock(Map<String, int[]> columns, int from, int length, int[] out,
+                            ColumnBuffers buffers, int level);
+
+    /**
+     * A method for bounding the value of the expression when variables range over intervals,
+     * a missing variable is 0 as in eval.
+     */
+    public abstract Interval evalInterval(Map<String, Interval> ranges);
+
     /**
      * A method for simplifying the expression based on specific rules.
      */
     public abstract Expression simplify();
 
+    /**
+     * A method for converting the expression into its canonical sum of products.
+     */
+    abstract Polynomial toPolynomial();
+
+    /**
+     * A method for collecting names of all variables of the expression.
+     */
+    abstract void collectVariables(Set<String> names);
+
+    /**
+     * A method for writing the expression into postfix bytecode.
+     */
+    abstract void compile(Bytecode.Builder builder);
+
+    /**
+     * A method for counting nodes of the expression tree.
+     */
+    abstract int nodeCount();
+
+    /**
+     * Temporary columns of one evalColumnar call, created on first use of a level.
+     */
+    static final class ColumnBuffers {
+        private final int rows;
+        private int[][] buffers = new int[4][];
+
+        ColumnBuffers(int rows) {
+            this.rows = rows;
+        }
+
+        int[] get(int level) {
+            if (level == buffers.length) {
+                buffers = Arrays.copyOf(buffers, level * 2);
+            }
+            if (buffers[level] == null) {
+                buffers[level] = new int[rows];
+            }
+            return buffers[level];
+        }
+    }
+
     /**
      * Method for parsing a string with variables.
      */
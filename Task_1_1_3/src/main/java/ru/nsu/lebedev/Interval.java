@@ -0,0 +1,109 @@
+package ru.nsu.lebedev;
+
+/**
+ * Class with closed integer interval realisation for bounding expression values.
+ * Integer arithmetic wraps around, so a bound outside of the int range
+ * widens the result to the whole int range.
+ */
+public final class Interval {
+    private static final Interval FULL = new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    private final int lower;
+    private final int upper;
+
+    /**
+     * Function with initialization.
+     *
+     * @param lower smallest value of the interval.
+     * @param upper largest value of the interval.
+     */
+    public Interval(int lower, int upper) {
+        if (lower > upper) {
+            throw new IllegalArgumentException("Lower bound is greater than upper bound");
+        }
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Function with creation of an interval of a single value.
+     */
+    public static Interval of(int value) {
+        return new Interval(value, value);
+    }
+
+    public int lower() {
+        return lower;
+    }
+
+    public int upper() {
+        return upper;
+    }
+
+    /**
+     * Function with checking that the value lies in the interval.
+     */
+    public boolean contains(int value) {
+        return lower <= value && value <= upper;
+    }
+
+    Interval add(Interval other) {
+        return bounded((long) lower + other.lower, (long) upper + other.upper);
+    }
+
+    Interval subtract(Interval other) {
+        return bounded((long) lower - other.upper, (long) upper - other.lower);
+    }
+
+    Interval multiply(Interval other) {
+        long a = (long) lower * other.lower;
+        long b = (long) lower * other.upper;
+        long c = (long) upper * other.lower;
+        long d = (long) upper * other.upper;
+        return bounded(Math.min(Math.min(a, b), Math.min(c, d)),
+                Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+
+    /**
+     * Function with division of intervals.
+     * Zero is excluded from the divisor, so it is split into negative and positive parts.
+     *
+     * @throws ArithmeticException if the divisor is exactly zero.
+     */
+    Interval divide(Interval other) {
+        if (other.lower == 0 && other.upper == 0) {
+            throw new ArithmeticException("/ by zero");
+        }
+        if (other.lower < 0 && other.upper > 0) {
+            Interval negative = divide(new Interval(other.lower, -1));
+            return negative.union(divide(new Interval(1, other.upper)));
+        }
+        int divisorLower = other.lower == 0 ? 1 : other.lower;
+        int divisorUpper = other.upper == 0 ? -1 : other.upper;
+        long a = (long) lower / divisorLower;
+        long b = (long) lower / divisorUpper;
+        long c = (long) upper / divisorLower;
+        long d = (long) upper / divisorUpper;
+        return bounded(Math.min(Math.min(a, b), Math.min(c, d)),
+                Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+
+    private Interval union(Interval other) {
+        return new Interval(Math.min(lower, other.lower), Math.max(upper, other.upper));
+    }
+
+    private static Interval bounded(long lower, long upper) {
+        if (lower < Integer.MIN_VALUE || upper > Integer.MAX_VALUE) {
+            return FULL;
+        }
+        return new Interval((int) lower, (int) upper);
+    }
+
+    /**
+     * A method for formating interval.
+     */
+    @Override
+    public String toString() {
+        return "[" + lower + ", " + upper + "]";
+    }
+}
@@ -0,0 +1,248 @@
+package ru.nsu.lebedev;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * Matrix of partial derivatives of several expressions by several variables.
+ * Identical functions are differentiated once, derivatives are computed and simplified
+ * in parallel on the common fork/join pool. All entries are then hash-consed into one
+ * program: every distinct subtree, wherever it occurs in the matrix, is a single node
+ * that is evaluated once per call of eval.
+ */
+public final class Jacobian {
+    private final int rows;
+    private final int columns;
+    private final Expression[] entries;
+    private final String[] variables;
+    private final int[] ops;
+    private final int[] lefts;
+    private final int[] rights;
+    private final int[] entryNodes;
+
+    private Jacobian(int rows, int columns, Expression[] entries) {
+        this.rows = rows;
+        this.columns = columns;
+        this.entries = entries;
+        TreeSet<String> names = new TreeSet<>();
+        for (Expression entry : entries) {
+            entry.collectVariables(names);
+        }
+        variables = names.toArray(new String[0]);
+        Bytecode[] codes = Arrays.stream(entries).parallel().map(Bytecode::compile)
+                .toArray(Bytecode[]::new);
+        Program program = new Program(variables);
+        entryNodes = new int[entries.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i].accept(program);
+            entryNodes[i] = program.pop();
+        }
+        ops = Arrays.copyOf(program.ops, program.size);
+        lefts = Arrays.copyOf(program.lefts, program.size);
+        rights = Arrays.copyOf(program.rights, program.size);
+    }
+
+    /**
+     * Computes the jacobian matrix of functions by variables.
+     *
+     * @param functions expressions of rows.
+     * @param variables variables of columns.
+     * @return Jacobian.
+     */
+    public static Jacobian of(List<Expression> functions, List<String> variables) {
+        Map<String, Integer> functionIndex = new HashMap<>();
+        List<Expression> distinct = new ArrayList<>();
+        int[] rowFunctions = new int[functions.size()];
+        for (int i = 0; i < rowFunctions.length; i++) {
+            int size = distinct.size();
+            int index = functionIndex.computeIfAbsent(functions.get(i).toString(), key -> size);
+            if (index == size) {
+                distinct.add(functions.get(i));
+            }
+            rowFunctions[i] = index;
+        }
+        int columns = variables.size();
+        Expression[] derivatives = new Expression[distinct.size() * columns];
+        IntStream.range(0, derivatives.length).parallel().forEach(i -> {
+            Expression function = distinct.get(i / columns);
+            Expression derivative = function.derivative(variables.get(i % columns));
+            try {
+                derivatives[i] = derivative.simplify();
+            } catch (ArithmeticException e) {
+                derivatives[i] = derivative;
+            }
+        });
+        Expression[] entries = new Expression[rowFunctions.length * columns];
+        for (int row = 0; row < rowFunctions.length; row++) {
+            System.arraycopy(derivatives, rowFunctions[row] * columns, entries, row * columns,
+                    columns);
+        }
+        return new Jacobian(rowFunctions.length, columns, entries);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * Returns simplified derivative of a function by a variable.
+     *
+     * @param row index of the function.
+     * @param column index of the variable.
+     * @return Expression.
+     */
+    public Expression get(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("No entry " + row + ", " + column);
+        }
+        return entries[row * columns + column];
+    }
+
+    /**
+     * Returns names of variables in the order of slots for eval(int[], int[]).
+     *
+     * @return copy of variable names.
+     */
+    public String[] variables() {
+        return variables.clone();
+    }
+
+    /**
+     * Function with eval of the whole matrix, a missing variable is 0 as in Expression.
+     *
+     * @param env values of variables.
+     * @return values of entries in row-major order.
+     */
+    public int[] eval(Map<String, Integer> env) {
+        int[] slots = new int[variables.length];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = env.getOrDefault(variables[i], 0);
+        }
+        int[] out = new int[rows * columns];
+        eval(slots, out);
+        return out;
+    }
+
+    /**
+     * Function with eval of the whole matrix.
+     *
+     * @param slots values of variables in the order of variables().
+     * @param out values of entries in row-major order.
+     */
+    public void eval(int[] slots, int[] out) {
+        int[] values = new int[ops.length];
+        for (int node = 0; node < ops.length; node++) {
+            switch (ops[node]) {
+                case Bytecode.CONST:
+                    values[node] = lefts[node];
+                    break;
+                case Bytecode.VAR:
+                    values[node] = slots[lefts[node]];
+                    break;
+                case Bytecode.ADD:
+                    values[node] = values[lefts[node]] + values[rights[node]];
+                    break;
+                case Bytecode.SUB:
+                    values[node] = values[lefts[node]] - values[rights[node]];
+                    break;
+                case Bytecode.MUL:
+                    values[node] = values[lefts[node]] * values[rights[node]];
+                    break;
+                default:
+                    values[node] = values[lefts[node]] / values[rights[node]];
+                    break;
+            }
+        }
+        for (int i = 0; i < entryNodes.length; i++) {
+            out[i] = values[entryNodes[i]];
+        }
+    }
+
+    /**
+     * Number of distinct subtrees of all entries.
+     *
+     * @return size of the shared program.
+     */
+    int nodeCount() {
+        return ops.length;
+    }
+
+    /**
+     * Key of a node: a constant is its value, a variable is its slot,
+     * an operator refers to the nodes of its operands.
+     */
+    private record Node(int op, int left, int right) {
+    }
+
+    /**
+     * Value numbering of bytecode instructions, children always precede their parents,
+     * so nodes are evaluated in the order of creation.
+     */
+    private static final class Program implements Bytecode.Visitor {
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final Map<Node, Integer> nodes = new HashMap<>();
+        private int[] ops = new int[16];
+        private int[] lefts = new int[16];
+        private int[] rights = new int[16];
+        private int size;
+        private int[] stack = new int[16];
+        private int top;
+
+        private Program(String[] variables) {
+            for (int i = 0; i < variables.length; i++) {
+                slots.put(variables[i], i);
+            }
+        }
+
+        @Override
+        public void constant(int value) {
+            push(node(Bytecode.CONST, value, 0));
+        }
+
+        @Override
+        public void variable(String name) {
+            push(node(Bytecode.VAR, slots.get(name), 0));
+        }
+
+        @Override
+        public void operator(int op) {
+            int right = pop();
+            int left = pop();
+            push(node(op, left, right));
+        }
+
+        private int node(int op, int left, int right) {
+            return nodes.computeIfAbsent(new Node(op, left, right), key -> {
+                if (size == ops.length) {
+                    ops = Arrays.copyOf(ops, size * 2);
+                    lefts = Arrays.copyOf(lefts, size * 2);
+                    rights = Arrays.copyOf(rights, size * 2);
+                }
+                ops[size] = op;
+                lefts[size] = left;
+                rights[size] = right;
+                return size++;
+            });
+        }
+
+        private void push(int node) {
+            if (top == stack.length) {
+                stack = Arrays.copyOf(stack, top * 2);
+            }
+            stack[top++] = node;
+        }
+
+        private int pop() {
+            return stack[--top];
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ru.nsu.lebedev;
 
+import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Class with constant realisation.
@@ -48,4 +51,61 @@ public class Number extends Expression {
     public int eval(Map<String, Integer> var) {
         return value;
     }
+
+    /**
+     * Function with long eval of constant.
+     */
+    @Override
+    public long evalLong(Map<String, Integer> var) {
+        return value;
+    }
+
+    /**
+     * Function with double eval of constant.
+     */
+    @Override
+    public double evalDouble(Map<String, Integer> var) {
+        return value;
+    }
+
+    /**
+     * Function with columnar eval of constant.
+     */
+    @Override
+    void evalBlock(Map<String, int[]> columns, int from, int length, int[] out,
+                   ColumnBuffers buffers, int level) {
+        Arrays.fill(out, 0, length, value);
+    }
+
+    /**
+     * Function with interval eval of constant.
+     */
+    @Override
+    public Interval evalInterval(Map<String, Interval> ranges) {
+        return Interval.of(value);
+    }
+
+    @Override
+    Polynomial toPolynomial() {
+        return Polynomial.constant(value);
+    }
+
+    @Override
+    void collectVariables(Set<String> names) {
+    }
+
+    @Override
+    BigInteger evalExact(Map<String, Integer> var) {
+        return BigInteger.valueOf(value);
+    }
+
+    @Override
+    void compile(Bytecode.Builder builder) {
+        builder.constant(value);
+    }
+
+    @Override
+    int nodeCount() {
+        return 1;
+    }
 }
@@ -0,0 +1,215 @@
+package ru.nsu.lebedev;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Canonical n-ary form of an expression: a sum of terms, each term is an integer
+ * coefficient times a sorted product of atoms (variables or irreducible divisions).
+ * Integer arithmetic wraps around, so it is a commutative ring and folding constants
+ * or collecting like terms never changes the value of eval.
+ */
+final class Polynomial {
+    /**
+     * Maximum number of term pairs tried when expanding a product of two sums.
+     */
+    private static final int EXPANSION_LIMIT = 64;
+
+    /**
+     * Terms ordered by degree descending, then by atom names, so the constant is last.
+     */
+    private static final Comparator<List<Atom>> MONOMIAL_ORDER = (a, b) -> {
+        if (a.size() != b.size()) {
+            return Integer.compare(b.size(), a.size());
+        }
+        for (int i = 0; i < a.size(); i++) {
+            int cmp = a.get(i).key.compareTo(b.get(i).key);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    };
+
+    private final TreeMap<List<Atom>, Integer> terms = new TreeMap<>(MONOMIAL_ORDER);
+    private Expression expression;
+    private String text;
+    private int nodeCount;
+
+    private Polynomial() {
+    }
+
+    /**
+     * Function with creation of a constant polynomial.
+     */
+    static Polynomial constant(int value) {
+        Polynomial result = new Polynomial();
+        result.addTerm(List.of(), value);
+        return result;
+    }
+
+    /**
+     * Function with creation of a polynomial of a single irreducible factor.
+     */
+    static Polynomial atom(Expression expression) {
+        return atom(expression, expression.toString());
+    }
+
+    private static Polynomial atom(Expression expression, String key) {
+        Polynomial result = new Polynomial();
+        result.addTerm(List.of(new Atom(key, expression)), 1);
+        return result;
+    }
+
+    /**
+     * Function with sum of two polynomials, like terms are collected.
+     */
+    Polynomial add(Polynomial other) {
+        return combine(other, 1);
+    }
+
+    /**
+     * Function with difference of two polynomials, like terms are collected.
+     */
+    Polynomial subtract(Polynomial other) {
+        return combine(other, -1);
+    }
+
+    /**
+     * Function with product of two polynomials.
+     * Constants and single terms are always multiplied in,
+     * a product with a sum is expanded only if that gives a smaller tree,
+     * otherwise it is kept as a single factor.
+     * The factor is keyed by the texts of both operands, which are built once per polynomial.
+     */
+    Polynomial multiply(Polynomial other) {
+        if (isConstant() || other.isConstant()
+                || terms.size() == 1 && other.terms.size() == 1) {
+            return expand(other);
+        }
+        Polynomial first = this;
+        Polynomial second = other;
+        if (first.text().compareTo(second.text()) > 0) {
+            first = other;
+            second = this;
+        }
+        Expression factor = new Mul(first.toExpression(), second.toExpression());
+        Polynomial product = atom(factor, "(" + first.text() + "*" + second.text() + ")");
+        product.nodeCount = 1 + first.nodeCount() + second.nodeCount();
+        if (terms.size() * other.terms.size() <= EXPANSION_LIMIT) {
+            Polynomial expanded = expand(other);
+            if (expanded.nodeCount() <= product.nodeCount()) {
+                return expanded;
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Function with conversion back into a tree of binary nodes,
+     * the tree is built once and shared by later calls.
+     *
+     * @return canonical Expression.
+     */
+    Expression toExpression() {
+        if (expression != null) {
+            return expression;
+        }
+        Expression result = null;
+        for (Map.Entry<List<Atom>, Integer> term : terms.entrySet()) {
+            int coefficient = term.getValue();
+            if (result == null) {
+                result = buildTerm(term.getKey(), coefficient);
+            } else if (coefficient < 0 && coefficient != Integer.MIN_VALUE) {
+                result = new Sub(result, buildTerm(term.getKey(), -coefficient));
+            } else {
+                result = new Add(result, buildTerm(term.getKey(), coefficient));
+            }
+        }
+        expression = result == null ? new Number(0) : result;
+        return expression;
+    }
+
+    private String text() {
+        if (text == null) {
+            text = toExpression().toString();
+        }
+        return text;
+    }
+
+    private int nodeCount() {
+        if (nodeCount == 0) {
+            nodeCount = toExpression().nodeCount();
+        }
+        return nodeCount;
+    }
+
+    private boolean isConstant() {
+        return terms.isEmpty() || terms.size() == 1 && terms.firstKey().isEmpty();
+    }
+
+    private Polynomial combine(Polynomial other, int sign) {
+        Polynomial result = new Polynomial();
+        for (Map.Entry<List<Atom>, Integer> term : terms.entrySet()) {
+            result.addTerm(term.getKey(), term.getValue());
+        }
+        for (Map.Entry<List<Atom>, Integer> term : other.terms.entrySet()) {
+            result.addTerm(term.getKey(), sign * term.getValue());
+        }
+        return result;
+    }
+
+    private Polynomial expand(Polynomial other) {
+        Polynomial result = new Polynomial();
+        for (Map.Entry<List<Atom>, Integer> a : terms.entrySet()) {
+            for (Map.Entry<List<Atom>, Integer> b : other.terms.entrySet()) {
+                result.addTerm(mergeFactors(a.getKey(), b.getKey()), a.getValue() * b.getValue());
+            }
+        }
+        return result;
+    }
+
+    private void addTerm(List<Atom> monomial, int coefficient) {
+        int sum = terms.getOrDefault(monomial, 0) + coefficient;
+        if (sum == 0) {
+            terms.remove(monomial);
+        } else {
+            terms.put(monomial, sum);
+        }
+    }
+
+    private static Expression buildTerm(List<Atom> monomial, int coefficient) {
+        if (monomial.isEmpty()) {
+            return new Number(coefficient);
+        }
+        Expression product = monomial.get(0).expression;
+        for (int i = 1; i < monomial.size(); i++) {
+            product = new Mul(product, monomial.get(i).expression);
+        }
+        return coefficient == 1 ? product : new Mul(new Number(coefficient), product);
+    }
+
+    private static List<Atom> mergeFactors(List<Atom> a, List<Atom> b) {
+        List<Atom> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() || j < b.size()) {
+            if (j == b.size() || i < a.size() && a.get(i).key.compareTo(b.get(j).key) <= 0) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Irreducible factor with its text computed once, terms refer to it instead of
+     * looking the expression up by text.
+     */
+    private record Atom(String key, Expression expression) {
+    }
+}
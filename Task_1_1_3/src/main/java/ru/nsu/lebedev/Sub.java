@@ -1,6 +1,8 @@
 package ru.nsu.lebedev;
 
+import java.math.BigInteger;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Class with subtraction realisation.
@@ -18,23 +20,14 @@ public class Sub extends Expression {
     }
 
     /**
-     * Rule a: Evaluate if both sides are numbers.
-     * Rule d: Subtracting two identical expressions results in 0.
+     * Chains of additions, subtractions and multiplications are flattened,
+     * constants are folded and like terms are collected.
      *
      * @return simplify Expression.
      */
     @Override
     public Expression simplify() {
-        Expression simplifiedLeft = left.simplify();
-        Expression simplifiedRight = right.simplify();
-        if (simplifiedLeft instanceof Number && simplifiedRight instanceof Number) {
-            int result = simplifiedLeft.eval(Map.of()) - simplifiedRight.eval(Map.of());
-            return new Number(result);
-        }
-        if (simplifiedLeft.equals(simplifiedRight)) {
-            return new Number(0);
-        }
-        return new Sub(simplifiedLeft, simplifiedRight);
+        return toPolynomial().toExpression();
     }
 
     /**
@@ -60,4 +53,70 @@ public class Sub extends Expression {
     public int eval(Map<String, Integer> env) {
         return left.eval(env) - right.eval(env);
     }
+
+    /**
+     * Function with checked long eval of subtraction.
+     */
+    @Override
+    public long evalLong(Map<String, Integer> env) {
+        return Math.subtractExact(left.evalLong(env), right.evalLong(env));
+    }
+
+    /**
+     * Function with double eval of subtraction.
+     */
+    @Override
+    public double evalDouble(Map<String, Integer> env) {
+        return left.evalDouble(env) - right.evalDouble(env);
+    }
+
+    /**
+     * Function with columnar eval of subtraction.
+     */
+    @Override
+    void evalBlock(Map<String, int[]> columns, int from, int length, int[] out,
+                   ColumnBuffers buffers, int level) {
+        left.evalBlock(columns, from, length, out, buffers, level);
+        int[] rightColumn = buffers.get(level);
+        right.evalBlock(columns, from, length, rightColumn, buffers, level + 1);
+        for (int i = 0; i < length; i++) {
+            out[i] -= rightColumn[i];
+        }
+    }
+
+    /**
+     * Function with interval eval of subtraction.
+     */
+    @Override
+    public Interval evalInterval(Map<String, Interval> ranges) {
+        return left.evalInterval(ranges).subtract(right.evalInterval(ranges));
+    }
+
+    @Override
+    Polynomial toPolynomial() {
+        return left.toPolynomial().subtract(right.toPolynomial());
+    }
+
+    @Override
+    void collectVariables(Set<String> names) {
+        left.collectVariables(names);
+        right.collectVariables(names);
+    }
+
+    @Override
+    BigInteger evalExact(Map<String, Integer> env) {
+        return left.evalExact(env).subtract(right.evalExact(env));
+    }
+
+    @Override
+    void compile(Bytecode.Builder builder) {
+        left.compile(builder);
+        right.compile(builder);
+        builder.operator(Bytecode.SUB);
+    }
+
+    @Override
+    int nodeCount() {
+        return 1 + left.nodeCount() + right.nodeCount();
+    }
 }
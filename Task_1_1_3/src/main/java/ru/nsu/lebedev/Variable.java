@@ -1,6 +1,9 @@
 package ru.nsu.lebedev;
 
+import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Class with variable realisation.
@@ -54,4 +57,67 @@ public class Variable extends Expression {
     public int eval(Map<String, Integer> var) {
         return var.getOrDefault(variable, 0);
     }
+
+    /**
+     * Function with long eval of variable.
+     */
+    @Override
+    public long evalLong(Map<String, Integer> var) {
+        return var.getOrDefault(variable, 0);
+    }
+
+    /**
+     * Function with double eval of variable.
+     */
+    @Override
+    public double evalDouble(Map<String, Integer> var) {
+        return var.getOrDefault(variable, 0);
+    }
+
+    /**
+     * Function with columnar eval of variable.
+     */
+    @Override
+    void evalBlock(Map<String, int[]> columns, int from, int length, int[] out,
+                   ColumnBuffers buffers, int level) {
+        int[] column = columns.get(variable);
+        if (column == null) {
+            Arrays.fill(out, 0, length, 0);
+        } else {
+            System.arraycopy(column, from, out, 0, length);
+        }
+    }
+
+    /**
+     * Function with interval eval of variable.
+     */
+    @Override
+    public Interval evalInterval(Map<String, Interval> ranges) {
+        return ranges.getOrDefault(variable, Interval.of(0));
+    }
+
+    @Override
+    Polynomial toPolynomial() {
+        return Polynomial.atom(this);
+    }
+
+    @Override
+    void collectVariables(Set<String> names) {
+        names.add(variable);
+    }
+
+    @Override
+    BigInteger evalExact(Map<String, Integer> var) {
+        return BigInteger.valueOf(var.getOrDefault(variable, 0));
+    }
+
+    @Override
+    void compile(Bytecode.Builder builder) {
+        builder.variable(variable);
+    }
+
+    @Override
+    int nodeCount() {
+        return 1;
+    }
 }
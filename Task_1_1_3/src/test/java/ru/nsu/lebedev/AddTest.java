@@ -1,10 +1,12 @@
 package ru.nsu.lebedev;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -64,4 +66,19 @@ public class AddTest {
         variables.put("x", 10);
         assertEquals(1, de.eval(variables));
     }
+
+    @Test
+    void evalColumnarAdd() {
+        int[] out = new int[4];
+        add.evalColumnar(Map.of("x", new int[]{1, 2, 5, 10}), out);
+        assertArrayEquals(new int[]{6, 7, 10, 15}, out);
+    }
+
+    @Test
+    void evalTypedAdd() {
+        Map<String, Integer> variables = Map.of("x", Integer.MAX_VALUE);
+        assertEquals(2147483652L, add.evalLong(variables));
+        assertEquals(2147483652.0, add.evalDouble(variables));
+        assertEquals(BigInteger.valueOf(2147483652L), add.evalBigInteger(variables));
+    }
 }
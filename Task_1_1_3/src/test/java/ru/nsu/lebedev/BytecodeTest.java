@@ -0,0 +1,87 @@
+package ru.nsu.lebedev;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing Bytecode class.
+ */
+public class BytecodeTest {
+
+    @Test
+    void roundTrip() {
+        Expression expression = ExpressionParser.parse("(3+2)*x + 1 * 2 - y / 7");
+        Bytecode bytecode = Bytecode.fromByteArray(Bytecode.compile(expression).toByteArray());
+        assertEquals(expression.toString(), bytecode.toExpression().toString());
+        assertArrayEquals(new String[]{"x", "y"}, bytecode.variables());
+        Map<String, Integer> env = Map.of("x", 4, "y", 7);
+        assertEquals(expression.eval(env), bytecode.eval(env));
+        assertEquals(expression.eval(env), bytecode.eval(new int[]{4, 7}));
+    }
+
+    @Test
+    void constantsAndVariablesAreShared() {
+        Expression expression = ExpressionParser.parse("x * x * x + 100000 - 100000");
+        byte[] data = Bytecode.compile(expression).toByteArray();
+        assertTrue(data.length < expression.toString().getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(1, Bytecode.fromByteArray(data).variables().length);
+    }
+
+    @Test
+    void negativeAndLargeConstants() {
+        Expression expression = new Sub(new Number(Integer.MIN_VALUE),
+                new Mul(new Number(-1), new Number(Integer.MAX_VALUE)));
+        Bytecode bytecode = Bytecode.fromByteArray(Bytecode.compile(expression).toByteArray());
+        assertEquals(expression.toString(), bytecode.toExpression().toString());
+        assertEquals(expression.eval(Map.of()), bytecode.eval(Map.of()));
+    }
+
+    @Test
+    void sameValueAsTree() {
+        Random random = new Random(11);
+        Map<String, Integer> env = Map.of("x", 3, "y", -2, "z", 5);
+        for (int i = 0; i < 100; i++) {
+            Expression expression = RandomExpressions.generate(random, 7);
+            Bytecode bytecode = Bytecode.fromByteArray(Bytecode.compile(expression).toByteArray());
+            assertEquals(expression.eval(env), bytecode.eval(env));
+        }
+    }
+
+    @Test
+    void divisionByZero() {
+        Bytecode bytecode = Bytecode.compile(ExpressionParser.parse("1 / x"));
+        assertThrows(ArithmeticException.class, () -> bytecode.eval(Map.of()));
+    }
+
+    @Test
+    void malformedData() {
+        byte[] data = Bytecode.compile(ExpressionParser.parse("x + 1")).toByteArray();
+        assertThrows(IllegalArgumentException.class, () -> Bytecode.fromByteArray(new byte[]{1}));
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> Bytecode.fromByteArray(truncated));
+        byte[] badOpcode = data.clone();
+        badOpcode[data.length - 1] = 9;
+        assertThrows(IllegalArgumentException.class, () -> Bytecode.fromByteArray(badOpcode));
+        byte[] trailing = Arrays.copyOf(data, data.length + 1);
+        assertThrows(IllegalArgumentException.class, () -> Bytecode.fromByteArray(trailing));
+    }
+
+    @Test
+    void malformedCounts() {
+        byte[] negative = {(byte) 0xE1, 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, 0x0F};
+        assertThrows(IllegalArgumentException.class, () -> Bytecode.fromByteArray(negative));
+        byte[] huge = {(byte) 0xE1, 0x01, 0x00, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThrows(IllegalArgumentException.class, () -> Bytecode.fromByteArray(huge));
+        byte[] longName = {(byte) 0xE1, 0x01, 0x00, 0x01, (byte) 0xFF, 0x7F, 0x00};
+        assertThrows(IllegalArgumentException.class, () -> Bytecode.fromByteArray(longName));
+    }
+}
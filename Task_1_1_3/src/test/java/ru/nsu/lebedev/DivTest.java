@@ -1,10 +1,13 @@
 package ru.nsu.lebedev;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -65,5 +68,22 @@ public class DivTest {
         variables.put("x", 10);
         assertEquals(0, de.eval(variables));
     }
-}
 
+    @Test
+    void evalColumnarDiv() {
+        int[] out = new int[4];
+        div.evalColumnar(Map.of("x", new int[]{1, 2, 5, 10}), out);
+        assertArrayEquals(new int[]{5, 2, 1, 0}, out);
+    }
+
+    @Test
+    void evalTypedDiv() {
+        Map<String, Integer> variables = Map.of("x", 2);
+        assertEquals(2, div.evalLong(variables));
+        assertEquals(2.5, div.evalDouble(variables));
+        assertEquals(BigInteger.TWO, div.evalBigInteger(variables));
+        assertEquals(Double.POSITIVE_INFINITY, div.evalDouble(Map.of()));
+        assertThrows(ArithmeticException.class, () -> div.evalLong(Map.of()));
+        assertThrows(ArithmeticException.class, () -> div.evalBigInteger(Map.of()));
+    }
+}
@@ -0,0 +1,119 @@
+package ru.nsu.lebedev;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing EvaluationCache class.
+ */
+public class EvaluationCacheTest {
+
+    @Test
+    void hitsAndMisses() {
+        EvaluationCache cache = new EvaluationCache(1 << 20);
+        EvaluationCache.CachedExpression expression =
+                cache.register(ExpressionParser.parse("x * y + 1"));
+        assertEquals(7, cache.eval(expression, Map.of("x", 2, "y", 3)));
+        assertEquals(7, cache.eval(expression, Map.of("x", 2, "y", 3, "z", 100)));
+        assertEquals(1, cache.eval(expression, Map.of("x", 2)));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void canonicalFormSharesEntries() {
+        EvaluationCache cache = new EvaluationCache(1 << 20);
+        EvaluationCache.CachedExpression first = cache.register(ExpressionParser.parse("x + y"));
+        EvaluationCache.CachedExpression second = cache.register(ExpressionParser.parse("y + x"));
+        EvaluationCache.CachedExpression third = cache.register(ExpressionParser.parse("x - y"));
+        assertEquals(first.id(), second.id());
+        assertNotEquals(first.id(), third.id());
+        cache.eval(first, Map.of("x", 1, "y", 2));
+        assertEquals(3, cache.eval(second, Map.of("x", 1, "y", 2)));
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void evictsWithinBudget() {
+        long budget = 64L * (EvaluationCache.ENTRY_OVERHEAD_BYTES + 4);
+        EvaluationCache cache = new EvaluationCache(budget);
+        EvaluationCache.CachedExpression expression = cache.register(new Variable("x"));
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, cache.eval(expression, Map.of("x", i)));
+        }
+        assertTrue(cache.usedBytes() <= budget);
+        assertTrue(cache.evictions() > 0);
+        assertEquals(10_000, cache.misses());
+    }
+
+    @Test
+    void failedEvalIsNotCached() {
+        EvaluationCache cache = new EvaluationCache(1 << 20);
+        EvaluationCache.CachedExpression expression =
+                cache.register(ExpressionParser.parse("1 / x"));
+        assertThrows(ArithmeticException.class, () -> cache.eval(expression, Map.of()));
+        assertEquals(0, cache.usedBytes());
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(0));
+    }
+
+    @Test
+    void sameValuesAsExpression() {
+        EvaluationCache cache = new EvaluationCache(1 << 20);
+        EvaluationCache.CachedExpression product = cache.register(ExpressionParser.parse("0 * x"));
+        EvaluationCache.CachedExpression quotient =
+                cache.register(ExpressionParser.parse("0 / x"));
+        assertEquals(0, cache.eval(product, Map.of("x", 0)));
+        assertThrows(ArithmeticException.class, () -> cache.eval(quotient, Map.of("x", 0)));
+        assertEquals(0, cache.eval(quotient, Map.of("x", 4)));
+    }
+
+    @Test
+    void releasesUnusedCanonicalForms() throws InterruptedException {
+        EvaluationCache cache = new EvaluationCache(1 << 10);
+        for (int i = 0; i < 10_000; i++) {
+            cache.register(ExpressionParser.parse("x + " + i));
+        }
+        EvaluationCache.CachedExpression kept = cache.register(ExpressionParser.parse("x + y"));
+        for (int i = 0; i < 50 && cache.canonicalForms() > 100; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertTrue(cache.canonicalForms() <= 100);
+        assertEquals(kept.id(), cache.register(ExpressionParser.parse("y + x")).id());
+    }
+
+    @Test
+    void concurrentEval() throws InterruptedException {
+        EvaluationCache cache = new EvaluationCache(1 << 20);
+        EvaluationCache.CachedExpression expression =
+                cache.register(ExpressionParser.parse("x * x - 3"));
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (cache.eval(expression, Map.of("x", i % 100)) != (i % 100) * (i % 100) - 3) {
+                        synchronized (errors) {
+                            errors.add(new AssertionError("wrong value"));
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.isEmpty());
+        assertEquals(8000, cache.hits() + cache.misses());
+        assertTrue(cache.misses() >= 100);
+    }
+}
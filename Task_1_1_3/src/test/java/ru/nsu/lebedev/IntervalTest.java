@@ -0,0 +1,94 @@
+package ru.nsu.lebedev;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing Interval class and interval eval.
+ */
+public class IntervalTest {
+
+    @Test
+    void evalIntervalOfPolynomial() {
+        Expression expression = ExpressionParser.parse("x * x - 2 * y");
+        Interval result = expression.evalInterval(
+                Map.of("x", new Interval(-3, 2), "y", new Interval(0, 10)));
+        assertEquals("[-26, 9]", result.toString());
+    }
+
+    @Test
+    void evalIntervalWithDivisorContainingZero() {
+        Expression expression = ExpressionParser.parse("100 / x");
+        Interval result = expression.evalInterval(Map.of("x", new Interval(-2, 5)));
+        assertEquals(-100, result.lower());
+        assertEquals(100, result.upper());
+        assertThrows(ArithmeticException.class,
+                () -> expression.evalInterval(Map.of("x", Interval.of(0))));
+    }
+
+    @Test
+    void overflowWidensToFullRange() {
+        Expression expression = ExpressionParser.parse("x * x");
+        Interval result = expression.evalInterval(Map.of("x", new Interval(0, 100_000)));
+        assertEquals(Integer.MIN_VALUE, result.lower());
+        assertEquals(Integer.MAX_VALUE, result.upper());
+    }
+
+    @Test
+    void invalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new Interval(2, 1));
+    }
+
+    @Test
+    void intervalContainsEveryValue() {
+        Random random = new Random(3);
+        int[] xs = new int[41];
+        int[] ys = new int[xs.length];
+        int[] zs = new int[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = i - 20;
+            ys[i] = 3;
+            zs[i] = -7;
+        }
+        for (int test = 0; test < 50; test++) {
+            Expression expression = RandomExpressions.generate(random, 4);
+            Interval bounds = expression.evalInterval(
+                    Map.of("x", new Interval(-20, 20), "y", Interval.of(3), "z", Interval.of(-7)));
+            int[] out = new int[xs.length];
+            expression.evalColumnar(Map.of("x", xs, "y", ys, "z", zs), out);
+            for (int i = 0; i < xs.length; i++) {
+                int value = expression.eval(Map.of("x", xs[i], "y", 3, "z", -7));
+                assertEquals(value, out[i]);
+                assertTrue(bounds.contains(value), expression + " " + bounds + " " + value);
+            }
+        }
+    }
+
+    @Test
+    void evalColumnarMissingVariable() {
+        int[] out = new int[]{7, 7};
+        ExpressionParser.parse("x + y").evalColumnar(Map.of("x", new int[]{1, 2}), out);
+        assertArrayEquals(new int[]{1, 2}, out);
+    }
+
+    @Test
+    void evalColumnarSeveralBlocks() {
+        int rows = 2 * Expression.BLOCK_ROWS + 5;
+        int[] xs = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            xs[i] = i - rows / 2;
+        }
+        Expression expression = ExpressionParser.parse("x * (x - (3 + (x * (x + 1))))");
+        int[] out = new int[rows];
+        expression.evalColumnar(Map.of("x", xs), out);
+        for (int i = 0; i < rows; i++) {
+            assertEquals(expression.eval(Map.of("x", xs[i])), out[i]);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.nsu.lebedev;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing Jacobian class.
+ */
+public class JacobianTest {
+
+    @Test
+    void simpleMatrix() {
+        Jacobian jacobian = Jacobian.of(
+                List.of(ExpressionParser.parse("x * y"), ExpressionParser.parse("x * x + 3 * y")),
+                List.of("x", "y"));
+        assertEquals(2, jacobian.rows());
+        assertEquals(2, jacobian.columns());
+        assertEquals("y", jacobian.get(0, 0).toString());
+        assertEquals("x", jacobian.get(0, 1).toString());
+        assertEquals("(2*x)", jacobian.get(1, 0).toString());
+        assertEquals("3", jacobian.get(1, 1).toString());
+        assertArrayEquals(new int[]{5, 2, 4, 3}, jacobian.eval(Map.of("x", 2, "y", 5)));
+        assertArrayEquals(new String[]{"x", "y"}, jacobian.variables());
+        assertThrows(IndexOutOfBoundsException.class, () -> jacobian.get(2, 0));
+    }
+
+    @Test
+    void sharedSubtrees() {
+        Jacobian jacobian = Jacobian.of(
+                List.of(ExpressionParser.parse("x * y * z"),
+                        ExpressionParser.parse("x * y * w + z * w")),
+                List.of("z", "w"));
+        assertEquals("(x*y)", jacobian.get(0, 0).toString());
+        assertEquals("((x*y)+z)", jacobian.get(1, 1).toString());
+        assertEquals(7, jacobian.nodeCount());
+        assertArrayEquals(new int[]{6, 0, 4, 11}, jacobian.eval(Map.of("x", 2, "y", 3, "z", 5,
+                "w", 4)));
+    }
+
+    @Test
+    void sameValuesAsDerivative() {
+        Random random = new Random(5);
+        List<Expression> functions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            functions.add(RandomExpressions.generate(random, 5));
+        }
+        functions.add(functions.get(0));
+        List<String> variables = List.of("x", "y", "z", "w");
+        Jacobian jacobian = Jacobian.of(functions, variables);
+        Map<String, Integer> env = Map.of("x", 3, "y", -2, "z", 5);
+        int[] values = jacobian.eval(env);
+        for (int row = 0; row < functions.size(); row++) {
+            for (int column = 0; column < variables.size(); column++) {
+                int expected = functions.get(row).derivative(variables.get(column)).eval(env);
+                assertEquals(expected, values[row * variables.size() + column]);
+            }
+        }
+    }
+}
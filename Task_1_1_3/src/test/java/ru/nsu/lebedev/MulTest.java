@@ -1,10 +1,13 @@
 package ru.nsu.lebedev;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -64,5 +67,24 @@ public class MulTest {
         variables.put("x", 10);
         assertEquals(5, de.eval(variables));
     }
-}
 
+    @Test
+    void evalColumnarMul() {
+        int[] out = new int[4];
+        mul.evalColumnar(Map.of("x", new int[]{1, 2, 5, 10}), out);
+        assertArrayEquals(new int[]{5, 10, 25, 50}, out);
+    }
+
+    @Test
+    void evalTypedMul() {
+        Expression big = new Mul(new Variable("x"), new Variable("x"));
+        Map<String, Integer> variables = Map.of("x", Integer.MAX_VALUE);
+        assertEquals(1, big.eval(variables));
+        assertEquals(4611686014132420609L, big.evalLong(variables));
+        assertEquals(4.611686014132420609E18, big.evalDouble(variables));
+        Expression huge = new Mul(big, big);
+        assertThrows(ArithmeticException.class, () -> huge.evalLong(variables));
+        assertEquals(BigInteger.valueOf(Integer.MAX_VALUE).pow(4), huge.evalBigInteger(variables));
+        assertEquals(BigInteger.valueOf(50), mul.evalBigInteger(Map.of("x", 10)));
+    }
+}
@@ -1,5 +1,6 @@
 package ru.nsu.lebedev;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -57,6 +58,11 @@ public class NumberTest {
         variables.put("x", 10);
         assertEquals(0, de.eval(variables));
     }
-}
-
 
+    @Test
+    void evalColumnarNumber() {
+        int[] out = new int[4];
+        number.evalColumnar(Map.of("x", new int[]{1, 2, 5, 10}), out);
+        assertArrayEquals(new int[]{5, 5, 5, 5}, out);
+    }
+}
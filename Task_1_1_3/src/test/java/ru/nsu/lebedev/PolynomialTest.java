@@ -0,0 +1,54 @@
+package ru.nsu.lebedev;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing Polynomial canonicalization.
+ */
+public class PolynomialTest {
+
+    @Test
+    void foldConstantsAcrossChain() {
+        Expression add = ExpressionParser.parse("(x + 1) + 2");
+        assertEquals("(x+3)", add.simplify().toString());
+        Expression mul = ExpressionParser.parse("2 * (3 * x)");
+        assertEquals("(6*x)", mul.simplify().toString());
+    }
+
+    @Test
+    void collectLikeTerms() {
+        Expression expression = ExpressionParser.parse("x * y + y * x - 2 * x * y");
+        assertEquals("0", expression.simplify().toString());
+        expression = ExpressionParser.parse("(x + 1) * (x - 1)");
+        assertEquals("((x*x)-1)", expression.simplify().toString());
+    }
+
+    @Test
+    void keepDivisionAsFactor() {
+        Expression expression = ExpressionParser.parse("x / 2 + 1 + x / 2");
+        assertEquals("((2*(x/2))+1)", expression.simplify().toString());
+    }
+
+    @Test
+    void simplifyDerivative() {
+        Expression de = ExpressionParser.parse("x * x * x").derivative("x");
+        assertEquals("(3*(x*x))", de.simplify().toString());
+    }
+
+    @Test
+    void simplifyKeepsValue() {
+        Random random = new Random(7);
+        Map<String, Integer> env = Map.of("x", 3, "y", -2, "z", 5);
+        for (int i = 0; i < 100; i++) {
+            Expression expression = RandomExpressions.generate(random, 6).derivative("x");
+            Expression simplified = expression.simplify();
+            assertEquals(expression.eval(env), simplified.eval(env));
+            assertTrue(simplified.nodeCount() <= expression.nodeCount());
+        }
+    }
+}
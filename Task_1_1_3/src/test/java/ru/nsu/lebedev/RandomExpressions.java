@@ -0,0 +1,40 @@
+package ru.nsu.lebedev;
+
+import java.util.Random;
+
+/**
+ * Generator of random expressions for tests.
+ */
+final class RandomExpressions {
+    private static final String[] VARIABLES = {"x", "y", "z"};
+
+    private RandomExpressions() {
+    }
+
+    /**
+     * Generates random expression of given depth without division by zero.
+     *
+     * @param random source of randomness.
+     * @param depth depth of the tree.
+     * @return generated Expression.
+     */
+    static Expression generate(Random random, int depth) {
+        if (depth == 0) {
+            if (random.nextBoolean()) {
+                return new Number(random.nextInt(9) + 1);
+            }
+            return new Variable(VARIABLES[random.nextInt(VARIABLES.length)]);
+        }
+        Expression left = generate(random, depth - 1);
+        switch (random.nextInt(4)) {
+            case 0:
+                return new Add(left, generate(random, depth - 1));
+            case 1:
+                return new Sub(left, generate(random, depth - 1));
+            case 2:
+                return new Mul(left, generate(random, depth - 1));
+            default:
+                return new Div(left, new Number(random.nextInt(9) + 1));
+        }
+    }
+}
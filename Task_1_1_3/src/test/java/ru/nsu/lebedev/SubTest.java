@@ -1,10 +1,12 @@
 package ru.nsu.lebedev;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -64,4 +66,19 @@ public class SubTest {
         variables.put("x", 10);
         assertEquals(-1, de.eval(variables));
     }
+
+    @Test
+    void evalColumnarSub() {
+        int[] out = new int[4];
+        sub.evalColumnar(Map.of("x", new int[]{1, 2, 5, 10}), out);
+        assertArrayEquals(new int[]{4, 3, 0, -5}, out);
+    }
+
+    @Test
+    void evalTypedSub() {
+        Map<String, Integer> variables = Map.of("x", Integer.MIN_VALUE);
+        assertEquals(2147483653L, sub.evalLong(variables));
+        assertEquals(2147483653.0, sub.evalDouble(variables));
+        assertEquals(BigInteger.valueOf(2147483653L), sub.evalBigInteger(variables));
+    }
 }
@@ -1,5 +1,6 @@
 package ru.nsu.lebedev;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -61,6 +62,11 @@ public class VariableTest {
         variables.put("x", 10);
         assertEquals(0, de.eval(variables));
     }
-}
-
 
+    @Test
+    void evalColumnarVariable() {
+        int[] out = new int[4];
+        variable.evalColumnar(Map.of("x", new int[]{1, 2, 5, 10}), out);
+        assertArrayEquals(new int[]{1, 2, 5, 10}, out);
+    }
+}
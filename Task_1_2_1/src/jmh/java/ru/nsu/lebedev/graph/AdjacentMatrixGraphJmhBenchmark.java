@@ -0,0 +1,21 @@
+package ru.nsu.lebedev.graph;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Graph operations on the adjacency matrix.
+ * The matrix takes capacity * capacity weights, so graphs are limited to 4k vertices.
+ */
+@State(Scope.Thread)
+public class AdjacentMatrixGraphJmhBenchmark extends GraphOperationsBenchmark {
+    @Param({"1000:4", "1000:256", "4000:4", "4000:1024"})
+    private String shape;
+
+    @Setup
+    public void setUp() {
+        build("AdjacentMatrixGraph", shape);
+    }
+}
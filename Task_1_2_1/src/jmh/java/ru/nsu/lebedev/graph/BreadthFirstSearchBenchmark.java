@@ -0,0 +1,54 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of sequential and direction-optimizing breadth-first search
+ * on a social-style R-MAT graph, the scale 22 gives about 50M edges.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class BreadthFirstSearchBenchmark {
+    private static final int EDGE_FACTOR = 12;
+
+    @Param({"16", "22"})
+    private int scale;
+
+    private BreadthFirstSearch<Integer> search;
+
+    /**
+     * Generates the graph.
+     */
+    @Setup
+    public void setUp() {
+        search = new BreadthFirstSearch<>(GraphFixtures.rmatGraph(new Random(42), scale,
+                EDGE_FACTOR));
+    }
+
+    @Benchmark
+    public int[] sequential() {
+        return search.depthsSequential(0);
+    }
+
+    @Benchmark
+    public int[] directionOptimizing() {
+        return search.depths(0);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of inserting 4M edges into an empty ConcurrentAdjacencyGraph
+ * with 1 to 16 writer threads, every invocation fills a new graph.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx6g"})
+public class ConcurrentAdjacencyGraphBenchmark {
+    private static final int EDGES = 4_000_000;
+    private static final int VERTICES = 1_000_000;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    private Integer[] from;
+    private Integer[] to;
+    private ConcurrentAdjacencyGraph<Integer> graph;
+
+    /**
+     * Generates the edges.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        from = new Integer[EDGES];
+        to = new Integer[EDGES];
+        for (int i = 0; i < EDGES; i++) {
+            from[i] = random.nextInt(VERTICES);
+            to[i] = random.nextInt(VERTICES);
+        }
+    }
+
+    /**
+     * Empty graph for the next invocation.
+     */
+    @Setup(Level.Invocation)
+    public void emptyGraph() {
+        graph = new ConcurrentAdjacencyGraph<>();
+    }
+
+    @Benchmark
+    public ConcurrentAdjacencyGraph<Integer> insert() throws InterruptedException {
+        GraphFixtures.insert(graph, from, to, threads);
+        return graph;
+    }
+}
@@ -0,0 +1,64 @@
+package ru.nsu.lebedev.graph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks comparing line-by-line reading through DefaultVertexReader
+ * with the memory-mapped EdgeListLoader on a generated edge list.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx6g"})
+public class EdgeListLoaderBenchmark {
+    @Param({"1000000", "10000000"})
+    private int edges;
+
+    private Path file;
+
+    /**
+     * Writes the edge list.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("edges", ".txt");
+        GraphFixtures.writeEdgeList(file, new Random(42), edges, Math.max(1, edges / 10));
+    }
+
+    /**
+     * Deletes the file.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public CsrGraph<String> readLines() throws IOException {
+        return CsrGraph.fromFile(file.toString(), new DefaultVertexReader());
+    }
+
+    @Benchmark
+    public CsrGraph<Integer> mapped() throws IOException {
+        return new EdgeListLoader().load(file.toString());
+    }
+}
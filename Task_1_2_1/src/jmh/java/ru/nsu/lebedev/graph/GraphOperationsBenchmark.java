@@ -0,0 +1,228 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks of graph operations shared by all representations.
+ * Subclasses choose the representations and the graph shapes, a shape is
+ * `vertices:degree`, the generated graph is a random DAG where every vertex has
+ * up to `degree` distinct successors with greater numbers, so it can be sorted.
+ * Mutating benchmarks restore the graph, so every invocation sees the same graph:
+ * addEdge removes the added edge and removeVertex adds the vertex and its edges back.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx6g"})
+public abstract class GraphOperationsBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private Graph<Integer> graph;
+    private Integer[] values;
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] absentFrom;
+    private int[] absentTo;
+    private int[] sampleVertices;
+    private int[][] successors;
+    private int[][] predecessors;
+    private int cursor;
+
+    /**
+     * Generates the graph, samples of its edges, of absent edges and of vertices.
+     *
+     * @param representation simple name of a Graph implementation
+     * @param shape `vertices:degree`
+     */
+    protected void build(String representation, String shape) {
+        String[] parts = shape.split(":");
+        int vertices = Integer.parseInt(parts[0]);
+        int degree = Integer.parseInt(parts[1]);
+        Random random = new Random(vertices * 31L + degree);
+        values = new Integer[vertices];
+        for (int v = 0; v < vertices; v++) {
+            values[v] = v;
+        }
+        graph = create(representation);
+        for (Integer value : values) {
+            graph.addVertex(value);
+        }
+        edgeFrom = new int[SAMPLES];
+        edgeTo = new int[SAMPLES];
+        for (int u = 0; u < vertices; u++) {
+            int[] targets = successors(random, u, vertices, degree);
+            for (int v : targets) {
+                graph.addEdge(values[u], values[v], 1 + random.nextInt(10));
+            }
+            if (targets.length > 0) {
+                int sample = u < SAMPLES ? u : random.nextInt(u + 1);
+                if (sample < SAMPLES) {
+                    edgeFrom[sample] = u;
+                    edgeTo[sample] = targets[random.nextInt(targets.length)];
+                }
+            }
+        }
+        absentFrom = new int[SAMPLES];
+        absentTo = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int u;
+            int v;
+            do {
+                u = random.nextInt(vertices - 1);
+                v = u + 1 + random.nextInt(vertices - u - 1);
+            } while (graph.getEdge(values[u], values[v]) != null);
+            absentFrom[i] = u;
+            absentTo[i] = v;
+        }
+        sampleVertices = new int[SAMPLES];
+        successors = new int[SAMPLES][];
+        predecessors = new int[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            sampleVertices[i] = random.nextInt(vertices);
+        }
+        collectEdges();
+    }
+
+    @Benchmark
+    public void addEdge() {
+        int i = next();
+        Integer from = values[absentFrom[i]];
+        Integer to = values[absentTo[i]];
+        graph.addEdge(from, to, 1.0);
+        graph.removeEdge(from, to);
+    }
+
+    @Benchmark
+    public Edge<Integer> getEdge() {
+        int i = next();
+        return graph.getEdge(values[edgeFrom[i]], values[edgeTo[i]]);
+    }
+
+    /**
+     * Removing a vertex, then adding it back with all its edges.
+     */
+    @Benchmark
+    public Vertex<Integer> removeVertex() {
+        int i = next();
+        Integer vertex = values[sampleVertices[i]];
+        Vertex<Integer> removed = graph.removeVertex(vertex);
+        graph.addVertex(vertex);
+        for (int v : successors[i]) {
+            graph.addEdge(vertex, values[v], 1.0);
+        }
+        for (int u : predecessors[i]) {
+            graph.addEdge(values[u], vertex, 1.0);
+        }
+        return removed;
+    }
+
+    @Benchmark
+    public List<Integer> getAdjacentVertices() {
+        return graph.getAdjacentVertices(values[sampleVertices[next()]]);
+    }
+
+    @Benchmark
+    public void forEachNeighbor(Blackhole blackhole) {
+        graph.forEachNeighbor(values[sampleVertices[next()]], (adjacent, weight) -> {
+            blackhole.consume(adjacent);
+            blackhole.consume(weight);
+        });
+    }
+
+    @Benchmark
+    public List<Integer> topologicalSort() {
+        return new TopologicalSort<Integer>().sort(graph);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return cursor;
+    }
+
+    private static Graph<Integer> create(String representation) {
+        switch (representation) {
+            case "AdjacentListGraph":
+                return new AdjacentListGraph<>();
+            case "AdjacentMatrixGraph":
+                return new AdjacentMatrixGraph<>();
+            case "IncidenceMatrixGraph":
+                return new IncidenceMatrixGraph<>();
+            default:
+                throw new IllegalArgumentException("Unknown representation " + representation);
+        }
+    }
+
+    /**
+     * Up to `degree` distinct random vertices after `u`.
+     */
+    private static int[] successors(Random random, int u, int vertices, int degree) {
+        int range = vertices - u - 1;
+        int count = Math.min(degree, range);
+        int[] targets = new int[count];
+        if (count * 2 <= range) {
+            Set<Integer> chosen = new HashSet<>();
+            int size = 0;
+            while (size < count) {
+                int v = u + 1 + random.nextInt(range);
+                if (chosen.add(v)) {
+                    targets[size++] = v;
+                }
+            }
+            return targets;
+        }
+        int[] all = new int[range];
+        for (int i = 0; i < range; i++) {
+            all[i] = u + 1 + i;
+        }
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(range - i);
+            targets[i] = all[j];
+            all[j] = all[i];
+        }
+        return targets;
+    }
+
+    /**
+     * Edges of sampled vertices needed to restore them after removal.
+     */
+    private void collectEdges() {
+        List<List<Integer>> incoming = new ArrayList<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            successors[i] = graph.getAdjacentVertices(values[sampleVertices[i]]).stream()
+                    .mapToInt(Integer::intValue).toArray();
+            incoming.add(new ArrayList<>());
+        }
+        Map<Integer, List<Integer>> samples = new HashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            samples.computeIfAbsent(sampleVertices[i], key -> new ArrayList<>()).add(i);
+        }
+        graph.forEachVertex(u -> graph.forEachNeighbor(u, (v, weight) -> {
+            List<Integer> indexes = samples.get(v);
+            if (indexes != null) {
+                for (int i : indexes) {
+                    incoming.get(i).add(u);
+                }
+            }
+        }));
+        for (int i = 0; i < SAMPLES; i++) {
+            predecessors[i] = incoming.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
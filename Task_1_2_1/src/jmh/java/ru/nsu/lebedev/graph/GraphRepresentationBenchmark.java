@@ -0,0 +1,24 @@
+package ru.nsu.lebedev.graph;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Graph operations on list-based representations, from 1k to 1M vertices.
+ */
+@State(Scope.Thread)
+public class GraphRepresentationBenchmark extends GraphOperationsBenchmark {
+    @Param({"AdjacentListGraph", "IncidenceMatrixGraph"})
+    private String representation;
+
+    @Param({"1000:4", "1000:256", "10000:10", "100000:4", "100000:64", "1000000:4",
+        "1000000:16"})
+    private String shape;
+
+    @Setup
+    public void setUp() {
+        build(representation, shape);
+    }
+}
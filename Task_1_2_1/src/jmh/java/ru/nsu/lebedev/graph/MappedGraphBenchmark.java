@@ -0,0 +1,79 @@
+package ru.nsu.lebedev.graph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks comparing opening a binary snapshot with re-reading a text edge list,
+ * and adjacency queries on the opened snapshot.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx6g"})
+public class MappedGraphBenchmark {
+    @Param({"1000000", "10000000"})
+    private int edges;
+
+    private Path text;
+    private Path snapshot;
+    private MappedGraph<String> mapped;
+    private Random random;
+
+    /**
+     * Writes the text edge list and its snapshot.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        text = Files.createTempFile("edges", ".txt");
+        snapshot = Files.createTempFile("edges", ".graph");
+        GraphFixtures.writeEdgeList(text, new Random(42), edges, edges / 10);
+        CsrGraph<String> graph = CsrGraph.fromFile(text.toString(), new DefaultVertexReader());
+        MappedGraph.write(graph, snapshot.toString(), new DefaultVertexCodec());
+        mapped = MappedGraph.open(snapshot.toString(), new DefaultVertexCodec());
+        random = new Random(42);
+    }
+
+    /**
+     * Deletes the files.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(text);
+        Files.delete(snapshot);
+    }
+
+    @Benchmark
+    public CsrGraph<String> readText() throws IOException {
+        return CsrGraph.fromFile(text.toString(), new DefaultVertexReader());
+    }
+
+    @Benchmark
+    public MappedGraph<String> openSnapshot() throws IOException {
+        return MappedGraph.open(snapshot.toString(), new DefaultVertexCodec());
+    }
+
+    @Benchmark
+    public List<String> getAdjacentVertices() {
+        return mapped.getAdjacentVertices(String.valueOf(random.nextInt(edges / 10)));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of Kruskal's and Boruvka's algorithms on a road-like grid,
+ * the side 1582 gives about 10M directed edges.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx6g"})
+public class MinimumSpanningTreeBenchmark {
+    @Param({"300", "1582"})
+    private int side;
+
+    private CsrGraph<Integer> graph;
+
+    /**
+     * Generates the grid.
+     */
+    @Setup
+    public void setUp() {
+        graph = GraphFixtures.roadGraph(new Random(42), side);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree kruskal() {
+        return MinimumSpanningTree.kruskal(graph);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree boruvka() {
+        return MinimumSpanningTree.boruvka(graph);
+    }
+}
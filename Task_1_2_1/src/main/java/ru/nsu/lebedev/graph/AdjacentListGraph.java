@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Adjacency List Graph class implementation.
@@ -93,4 +95,22 @@ public class AdjacentListGraph<T> implements Graph<T> {
         }
         return adjacentVertices;
     }
+
+    @Override
+    public void forEachVertex(Consumer<? super T> action) {
+        for (T vertex : vertices.keySet()) {
+            action.accept(vertex);
+        }
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<? super T> action) {
+        List<Edge<T>> edges = adjList.get(vertex);
+        if (edges != null) {
+            for (int i = 0; i < edges.size(); i++) {
+                Edge<T> edge = edges.get(i);
+                action.accept(edge.getTo(), edge.getWeight());
+            }
+        }
+    }
 }
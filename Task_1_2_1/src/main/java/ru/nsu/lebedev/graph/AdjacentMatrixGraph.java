@@ -1,21 +1,31 @@
 package ru.nsu.lebedev.graph;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Adjacency Matrix Graph class implementation.
  * raw - vertex; col - vertex.
+ * Weights are stored in a flat `double[]` matrix and presence of edges in
+ * `long` bitset rows, so a row is scanned word by word with `Long.numberOfTrailingZeros`.
+ * Removed vertex is replaced by the last one, so indices stay dense.
  *
  * @param <T> type of graph's vertices
  */
 public class AdjacentMatrixGraph<T> implements Graph<T> {
+    private static final int INITIAL_CAPACITY = 64;
+
     private final Map<T, Vertex<T>> vertices = new HashMap<>();
     private final Map<T, Integer> vertexIndex = new HashMap<>();
-    private final List<List<Double>> adjMatrix = new ArrayList<>();
+    private final List<T> indexVertex = new ArrayList<>();
+    private int capacity = INITIAL_CAPACITY;
+    private int words = INITIAL_CAPACITY / Long.SIZE;
+    private long[] present = new long[capacity * words];
+    private double[] weights = new double[capacity * capacity];
 
     @Override
     public Vertex<T> getVertex(T value) {
@@ -25,16 +35,14 @@ public class AdjacentMatrixGraph<T> implements Graph<T> {
     @Override
     public void addVertex(T value) {
         if (vertices.containsKey(value)) {
-            vertices.get(value);
             return;
         }
-        Vertex<T> newVertex = new Vertex<>(value);
-        vertices.put(value, newVertex);
-        vertexIndex.put(value, vertexIndex.size());
-        for (List<Double> row : adjMatrix) {
-            row.add(null);
+        if (indexVertex.size() == capacity) {
+            grow();
         }
-        adjMatrix.add(new ArrayList<>(Collections.nCopies(vertices.size(), null)));
+        vertices.put(value, new Vertex<>(value));
+        vertexIndex.put(value, indexVertex.size());
+        indexVertex.add(value);
     }
 
     @Override
@@ -44,10 +52,26 @@ public class AdjacentMatrixGraph<T> implements Graph<T> {
         }
         int index = vertexIndex.remove(value);
         vertices.remove(value);
-        adjMatrix.remove(index);
-        for (List<Double> row : adjMatrix) {
-            row.remove(index);
+        int last = indexVertex.size() - 1;
+        if (index != last) {
+            T moved = indexVertex.get(last);
+            System.arraycopy(present, last * words, present, index * words, words);
+            System.arraycopy(weights, last * capacity, weights, index * capacity, capacity);
+            for (int row = 0; row < last; row++) {
+                if (hasEdge(row, last)) {
+                    setEdge(row, index, weights[row * capacity + last]);
+                } else {
+                    clearEdge(row, index);
+                }
+            }
+            indexVertex.set(index, moved);
+            vertexIndex.put(moved, index);
+        }
+        for (int row = 0; row <= last; row++) {
+            clearEdge(row, last);
+            clearEdge(last, row);
         }
+        indexVertex.remove(last);
         return new Vertex<>(value);
     }
 
@@ -57,54 +81,28 @@ public class AdjacentMatrixGraph<T> implements Graph<T> {
         addVertex(b);
         int indexA = vertexIndex.get(a);
         int indexB = vertexIndex.get(b);
-        if (adjMatrix.get(indexA).get(indexB) == null) {
-            adjMatrix.get(indexA).set(indexB, weight);
+        if (!hasEdge(indexA, indexB)) {
+            setEdge(indexA, indexB, weight);
         }
     }
 
     @Override
     public Edge<T> removeEdge(T a, T b) {
-        if (!vertexIndex.containsKey(a) || !vertexIndex.containsKey(b)) {
-            return null;
-        }
-        int indexA = vertexIndex.get(a);
-        int indexB = vertexIndex.get(b);
-        Double weight = adjMatrix.get(indexA).get(indexB);
-        if (weight != null) {
-            Edge<T> removedEdge = new Edge<>(a, b, weight);
-            adjMatrix.get(indexA).set(indexB, null);
-            return removedEdge;
+        Edge<T> removedEdge = getEdge(a, b);
+        if (removedEdge != null) {
+            clearEdge(vertexIndex.get(a), vertexIndex.get(b));
         }
-        return null;
+        return removedEdge;
     }
 
     @Override
     public Edge<T> getEdge(T a, T b) {
-        if (!vertexIndex.containsKey(a) || !vertexIndex.containsKey(b)) {
+        Integer indexA = vertexIndex.get(a);
+        Integer indexB = vertexIndex.get(b);
+        if (indexA == null || indexB == null || !hasEdge(indexA, indexB)) {
             return null;
         }
-        int indexA = vertexIndex.get(a);
-        int indexB = vertexIndex.get(b);
-        Double weight = adjMatrix.get(indexA).get(indexB);
-        if (weight != null) {
-            return new Edge<>(a, b, weight);
-        }
-        return null;
-    }
-
-    /**
-     * Getter of vertex by index.
-     *
-     * @param index of vertex
-     * @return vertex or null if it doesn't exist
-     */
-    private T getVertexByIndex(int index) {
-        for (Map.Entry<T, Integer> entry : vertexIndex.entrySet()) {
-            if (entry.getValue() == index) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return new Edge<>(a, b, weights[indexA * capacity + indexB]);
     }
 
     @Override
@@ -115,12 +113,74 @@ public class AdjacentMatrixGraph<T> implements Graph<T> {
     @Override
     public List<T> getAdjacentVertices(T vertex) {
         List<T> adjacentVertices = new ArrayList<>();
-        int index = vertexIndex.get(vertex);
-        for (int i = 0; i < adjMatrix.get(index).size(); i++) {
-            if (adjMatrix.get(index).get(i) != null) {
-                adjacentVertices.add(getVertexByIndex(i));
+        Integer index = vertexIndex.get(vertex);
+        if (index == null) {
+            return adjacentVertices;
+        }
+        int rowStart = index * words;
+        for (int word = 0; word < words; word++) {
+            long bits = present[rowStart + word];
+            while (bits != 0) {
+                int column = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                adjacentVertices.add(indexVertex.get(column));
+                bits &= bits - 1;
             }
         }
         return adjacentVertices;
     }
+
+    @Override
+    public void forEachVertex(Consumer<? super T> action) {
+        for (T vertex : vertices.keySet()) {
+            action.accept(vertex);
+        }
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<? super T> action) {
+        Integer index = vertexIndex.get(vertex);
+        if (index == null) {
+            return;
+        }
+        int rowStart = index * words;
+        for (int word = 0; word < words; word++) {
+            long bits = present[rowStart + word];
+            while (bits != 0) {
+                int column = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                action.accept(indexVertex.get(column), weights[index * capacity + column]);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private boolean hasEdge(int row, int column) {
+        return (present[row * words + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    private void setEdge(int row, int column, double weight) {
+        present[row * words + (column >>> 6)] |= 1L << column;
+        weights[row * capacity + column] = weight;
+    }
+
+    private void clearEdge(int row, int column) {
+        present[row * words + (column >>> 6)] &= ~(1L << column);
+    }
+
+    /**
+     * Doubles the matrix side, rows are copied to their new positions.
+     */
+    private void grow() {
+        int newCapacity = capacity * 2;
+        int newWords = newCapacity / Long.SIZE;
+        long[] newPresent = new long[newCapacity * newWords];
+        double[] newWeights = new double[newCapacity * newCapacity];
+        for (int row = 0; row < capacity; row++) {
+            System.arraycopy(present, row * words, newPresent, row * newWords, words);
+            System.arraycopy(weights, row * capacity, newWeights, row * newCapacity, capacity);
+        }
+        capacity = newCapacity;
+        words = newWords;
+        present = newPresent;
+        weights = newWeights;
+    }
 }
@@ -0,0 +1,235 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Breadth-first search over a CSR snapshot of any graph.
+ * The parallel search is direction-optimizing: a step is top-down (frontier vertices
+ * claim their successors) while the frontier is small and bottom-up (unvisited vertices
+ * look for a predecessor in the frontier) while it is large.
+ * Frontiers are bitmaps, visited marks are set with compare-and-set,
+ * steps run on the common ForkJoinPool.
+ *
+ * @param <T> type of graph's vertices
+ */
+public class BreadthFirstSearch<T> {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int CHUNK_WORDS = 64;
+
+    private final CsrGraph<T> graph;
+    private final CsrGraph<T> transposed;
+
+    /**
+     * Takes a snapshot of the graph and its transpose for bottom-up steps.
+     *
+     * @param graph any type of graph
+     */
+    public BreadthFirstSearch(Graph<T> graph) {
+        this.graph = CsrGraph.of(graph);
+        this.transposed = this.graph.transpose();
+    }
+
+    public CsrGraph<T> snapshot() {
+        return graph;
+    }
+
+    /**
+     * Hop distances of all vertices reachable from the source.
+     *
+     * @param source first vertex
+     * @return map from reachable vertex to the number of edges on the shortest path
+     * @throws IllegalArgumentException if the source is not in the graph
+     */
+    public Map<T, Integer> hops(T source) {
+        int id = graph.idOf(source);
+        if (id < 0) {
+            throw new IllegalArgumentException("No vertex " + source);
+        }
+        int[] depths = depths(id);
+        Map<T, Integer> hops = new HashMap<>();
+        for (int v = 0; v < depths.length; v++) {
+            if (depths[v] >= 0) {
+                hops.put(graph.valueOf(v), depths[v]);
+            }
+        }
+        return hops;
+    }
+
+    /**
+     * Parallel direction-optimizing search.
+     *
+     * @param source id of the first vertex
+     * @return hop distance of every id, -1 for unreachable ones
+     */
+    public int[] depths(int source) {
+        int n = graph.vertexCount();
+        int words = (n + Long.SIZE - 1) / Long.SIZE;
+        int chunks = (words + CHUNK_WORDS - 1) / CHUNK_WORDS;
+        int[] depths = initialDepths(n, source);
+        AtomicLongArray visited = new AtomicLongArray(words);
+        visited.set(source >>> 6, 1L << source);
+        long[] frontier = new long[words];
+        frontier[source >>> 6] = 1L << source;
+        long frontierSize = 1;
+        long frontierEdges = degree(source);
+        long unexploredEdges = graph.edgeCount() - frontierEdges;
+        boolean bottomUp = false;
+        int level = 0;
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+            level++;
+            AtomicLongArray next = new AtomicLongArray(words);
+            LongAdder nextSize = new LongAdder();
+            LongAdder nextEdges = new LongAdder();
+            long[] current = frontier;
+            int depth = level;
+            boolean up = bottomUp;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = chunk * CHUNK_WORDS;
+                int to = Math.min(words, from + CHUNK_WORDS);
+                if (up) {
+                    bottomUpStep(from, to, current, visited, next, depths, depth,
+                            nextSize, nextEdges);
+                } else {
+                    topDownStep(from, to, current, visited, next, depths, depth,
+                            nextSize, nextEdges);
+                }
+            });
+            frontier = new long[words];
+            for (int word = 0; word < words; word++) {
+                frontier[word] = next.get(word);
+            }
+            frontierSize = nextSize.sum();
+            frontierEdges = nextEdges.sum();
+            unexploredEdges -= frontierEdges;
+        }
+        return depths;
+    }
+
+    /**
+     * Plain queue-based search in one thread.
+     *
+     * @param source id of the first vertex
+     * @return hop distance of every id, -1 for unreachable ones
+     */
+    public int[] depthsSequential(int source) {
+        int[] depths = initialDepths(graph.vertexCount(), source);
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                int v = graph.target(edge);
+                if (depths[v] < 0) {
+                    depths[v] = depths[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return depths;
+    }
+
+    private void topDownStep(int from, int to, long[] frontier, AtomicLongArray visited,
+                             AtomicLongArray next, int[] depths, int depth,
+                             LongAdder nextSize, LongAdder nextEdges) {
+        long size = 0;
+        long edges = 0;
+        for (int word = from; word < to; word++) {
+            long bits = frontier[word];
+            while (bits != 0) {
+                int u = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                    int v = graph.target(edge);
+                    if (claim(visited, v)) {
+                        depths[v] = depth;
+                        next.accumulateAndGet(v >>> 6, 1L << v, (a, b) -> a | b);
+                        size++;
+                        edges += degree(v);
+                    }
+                }
+            }
+        }
+        nextSize.add(size);
+        nextEdges.add(edges);
+    }
+
+    /**
+     * Bottom-up step, words of visited and next in [from, to) are written by this task only.
+     */
+    private void bottomUpStep(int from, int to, long[] frontier, AtomicLongArray visited,
+                              AtomicLongArray next, int[] depths, int depth,
+                              LongAdder nextSize, LongAdder nextEdges) {
+        int n = graph.vertexCount();
+        long size = 0;
+        long edges = 0;
+        for (int word = from; word < to; word++) {
+            long seen = visited.get(word);
+            long found = 0;
+            long unvisited = ~seen;
+            while (unvisited != 0) {
+                int v = word * Long.SIZE + Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                if (v >= n) {
+                    break;
+                }
+                for (int edge = transposed.firstEdge(v); edge < transposed.endEdge(v); edge++) {
+                    int u = transposed.target(edge);
+                    if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                        depths[v] = depth;
+                        found |= 1L << v;
+                        size++;
+                        edges += degree(v);
+                        break;
+                    }
+                }
+            }
+            if (found != 0) {
+                visited.set(word, seen | found);
+                next.set(word, found);
+            }
+        }
+        nextSize.add(size);
+        nextEdges.add(edges);
+    }
+
+    private static boolean claim(AtomicLongArray visited, int v) {
+        int word = v >>> 6;
+        long bit = 1L << v;
+        while (true) {
+            long old = visited.get(word);
+            if ((old & bit) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(word, old, old | bit)) {
+                return true;
+            }
+        }
+    }
+
+    private int degree(int v) {
+        return graph.endEdge(v) - graph.firstEdge(v);
+    }
+
+    private static int[] initialDepths(int n, int source) {
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("No vertex with id " + source);
+        }
+        int[] depths = new int[n];
+        Arrays.fill(depths, -1);
+        depths[source] = 0;
+        return depths;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.nsu.lebedev.graph;
+
+/**
+ * Combiner of messages sent to one vertex during a superstep.
+ */
+public enum Combiner {
+    SUM(0.0) {
+        @Override
+        public double combine(double a, double b) {
+            return a + b;
+        }
+    },
+    MIN(Double.POSITIVE_INFINITY) {
+        @Override
+        public double combine(double a, double b) {
+            return Math.min(a, b);
+        }
+    },
+    MAX(Double.NEGATIVE_INFINITY) {
+        @Override
+        public double combine(double a, double b) {
+            return Math.max(a, b);
+        }
+    };
+
+    private final double identity;
+
+    Combiner(double identity) {
+        this.identity = identity;
+    }
+
+    /**
+     * Value of a vertex inbox without messages.
+     *
+     * @return neutral element of combine
+     */
+    public double identity() {
+        return identity;
+    }
+
+    /**
+     * Combines two messages, the operation must be associative and commutative.
+     *
+     * @param a first message
+     * @param b second message
+     * @return combined message
+     */
+    public abstract double combine(double a, double b);
+}
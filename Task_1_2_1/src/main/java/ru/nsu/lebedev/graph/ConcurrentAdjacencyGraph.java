@@ -0,0 +1,249 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Thread-safe Adjacency List Graph class implementation.
+ * Every vertex maps to an immutable view of its edge list, readers never lock.
+ * Writers lock one of the stripes chosen by the source vertex, append in place
+ * behind the published size and publish a new view, so an edge costs O(1).
+ * Removals copy the list, removeVertex and snapshot lock all stripes,
+ * so a snapshot sees every edge added before it and none added after it.
+ *
+ * @param <T> type of graph's vertices
+ */
+public class ConcurrentAdjacencyGraph<T> implements Graph<T> {
+    private static final int STRIPES = 64;
+
+    private final ConcurrentHashMap<T, Edges<T>> adjList = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    /**
+     * Creates empty graph.
+     */
+    public ConcurrentAdjacencyGraph() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Vertex<T> getVertex(T value) {
+        return adjList.containsKey(value) ? new Vertex<>(value) : null;
+    }
+
+    @Override
+    public void addVertex(T value) {
+        adjList.putIfAbsent(value, Edges.empty());
+    }
+
+    @Override
+    public Vertex<T> removeVertex(T value) {
+        lockAll();
+        try {
+            if (adjList.remove(value) == null) {
+                return null;
+            }
+            for (Map.Entry<T, Edges<T>> entry : adjList.entrySet()) {
+                Edges<T> edges = entry.getValue();
+                for (int i = 0; i < edges.size; i++) {
+                    if (edges.items[i].getTo().equals(value)) {
+                        entry.setValue(edges.without(value));
+                        break;
+                    }
+                }
+            }
+            return new Vertex<>(value);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public Edge<T> getEdge(T a, T b) {
+        Edges<T> edges = adjList.get(a);
+        if (edges != null) {
+            for (int i = 0; i < edges.size; i++) {
+                if (edges.items[i].getTo().equals(b)) {
+                    return edges.items[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void addEdge(T a, T b, double weight) {
+        ReentrantLock lock = lock(a);
+        lock.lock();
+        try {
+            adjList.putIfAbsent(b, Edges.empty());
+            Edges<T> edges = adjList.computeIfAbsent(a, key -> Edges.empty());
+            adjList.put(a, edges.with(new Edge<>(a, b, weight)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Edge<T> removeEdge(T a, T b) {
+        ReentrantLock lock = lock(a);
+        lock.lock();
+        try {
+            Edges<T> edges = adjList.get(a);
+            if (edges == null) {
+                return null;
+            }
+            for (int i = 0; i < edges.size; i++) {
+                Edge<T> edge = edges.items[i];
+                if (edge.getTo().equals(b)) {
+                    adjList.put(a, edges.withoutAt(i));
+                    return edge;
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<T> getVertices() {
+        return new ArrayList<>(adjList.keySet());
+    }
+
+    @Override
+    public List<T> getAdjacentVertices(T vertex) {
+        List<T> adjacentVertices = new ArrayList<>();
+        Edges<T> edges = adjList.get(vertex);
+        if (edges != null) {
+            for (int i = 0; i < edges.size; i++) {
+                adjacentVertices.add(edges.items[i].getTo());
+            }
+        }
+        return adjacentVertices;
+    }
+
+    @Override
+    public void forEachVertex(Consumer<? super T> action) {
+        for (T vertex : adjList.keySet()) {
+            action.accept(vertex);
+        }
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<? super T> action) {
+        Edges<T> edges = adjList.get(vertex);
+        if (edges != null) {
+            for (int i = 0; i < edges.size; i++) {
+                action.accept(edges.items[i].getTo(), edges.items[i].getWeight());
+            }
+        }
+    }
+
+    /**
+     * Consistent copy of the whole graph.
+     * Writers are blocked only while views of all vertices are collected.
+     *
+     * @return CSR snapshot, of duplicate edges the first added one is kept
+     */
+    public CsrGraph<T> snapshot() {
+        List<Map.Entry<T, Edges<T>>> views = new ArrayList<>();
+        lockAll();
+        try {
+            for (Map.Entry<T, Edges<T>> entry : adjList.entrySet()) {
+                views.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        } finally {
+            unlockAll();
+        }
+        CsrGraph.Builder<T> builder = new CsrGraph.Builder<>();
+        for (Map.Entry<T, Edges<T>> view : views) {
+            builder.addVertex(view.getKey());
+        }
+        for (Map.Entry<T, Edges<T>> view : views) {
+            Edges<T> edges = view.getValue();
+            for (int i = 0; i < edges.size; i++) {
+                builder.addEdge(view.getKey(), edges.items[i].getTo(), edges.items[i].getWeight());
+            }
+        }
+        return builder.build();
+    }
+
+    private ReentrantLock lock(T vertex) {
+        int h = vertex.hashCode();
+        return locks[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    /**
+     * Immutable view of the first `size` slots of an edge array.
+     * Slots after `size` may be filled later by the writer owning the newest view,
+     * removals always copy, so a published view never changes.
+     *
+     * @param <T> type of graph's vertices
+     */
+    private static final class Edges<T> {
+        @SuppressWarnings("unchecked")
+        private static final Edges<?> EMPTY = new Edges<>((Edge<Object>[]) new Edge<?>[0], 0);
+
+        private final Edge<T>[] items;
+        private final int size;
+
+        private Edges(Edge<T>[] items, int size) {
+            this.items = items;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Edges<T> empty() {
+            return (Edges<T>) EMPTY;
+        }
+
+        Edges<T> with(Edge<T> edge) {
+            Edge<T>[] array = items;
+            if (size == array.length) {
+                array = Arrays.copyOf(items, Math.max(4, size * 2));
+            }
+            array[size] = edge;
+            return new Edges<>(array, size + 1);
+        }
+
+        Edges<T> withoutAt(int index) {
+            Edge<T>[] array = Arrays.copyOf(items, size);
+            System.arraycopy(array, index + 1, array, index, size - index - 1);
+            array[size - 1] = null;
+            return new Edges<>(array, size - 1);
+        }
+
+        Edges<T> without(T target) {
+            Edge<T>[] array = Arrays.copyOf(items, size);
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!items[i].getTo().equals(target)) {
+                    array[count++] = items[i];
+                }
+            }
+            Arrays.fill(array, count, size, null);
+            return new Edges<>(array, count);
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package ru.nsu.lebedev.graph;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Immutable Compressed Sparse Row Graph class implementation.
+ * Vertices have dense int ids, edges of vertex `v` are stored in
+ * `targets[offsets[v]..offsets[v + 1])` sorted by target id with weights alongside,
+ * so an edge costs 12 bytes instead of an `Edge` object and a list slot.
+ * Modifying methods throw UnsupportedOperationException.
+ *
+ * @param <T> type of graph's vertices
+ */
+public class CsrGraph<T> implements Graph<T> {
+    private final VertexIndex<T> vertices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private CsrGraph(VertexIndex<T> vertices, int[] offsets, int[] targets, double[] weights) {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Snapshot of any graph.
+     * Vertex ids follow the order of `graph.forEachVertex`, edges are copied through
+     * `forEachNeighbor`, so no adjacency lists or Edge objects are created.
+     *
+     * @param graph source graph
+     * @param <T> type of graph's vertices
+     * @return CSR copy of the graph
+     */
+    public static <T> CsrGraph<T> of(Graph<T> graph) {
+        if (graph instanceof CsrGraph) {
+            return (CsrGraph<T>) graph;
+        }
+        Builder<T> builder = new Builder<>();
+        graph.forEachVertex(builder::addVertex);
+        for (int v = 0; v < builder.values.size(); v++) {
+            T vertex = builder.values.get(v);
+            graph.forEachNeighbor(vertex, (adjacent, weight) ->
+                    builder.addEdge(vertex, adjacent, weight));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reading graph from file without building a mutable graph first.
+     *
+     * @param filename file with data.
+     * @param reader type of realization if interface VertexReader.
+     * @param <T> type of graph's vertices
+     * @return CSR graph
+     */
+    public static <T> CsrGraph<T> fromFile(String filename, VertexReader<T> reader)
+        throws IOException {
+        Builder<T> builder = new Builder<>();
+        Graph.readDataForGraphFromFile(builder, filename, reader);
+        return builder.build();
+    }
+
+    /**
+     * Number of vertices.
+     *
+     * @return count of vertices
+     */
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Number of edges.
+     *
+     * @return count of edges
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Dense id of vertex.
+     *
+     * @param value value of vertex
+     * @return id or -1 if vertex doesn't exist
+     */
+    public int idOf(T value) {
+        return vertices.idOf(value);
+    }
+
+    /**
+     * Vertex value by dense id.
+     *
+     * @param id id of vertex
+     * @return value of vertex
+     */
+    public T valueOf(int id) {
+        return vertices.valueOf(id);
+    }
+
+    /**
+     * Index of the first edge of vertex.
+     *
+     * @param id id of vertex
+     * @return edge index
+     */
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Index after the last edge of vertex.
+     *
+     * @param id id of vertex
+     * @return edge index
+     */
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Target of edge.
+     *
+     * @param edge edge index
+     * @return id of end vertex
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Weight of edge.
+     *
+     * @param edge edge index
+     * @return weight double value
+     */
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Graph with every edge reversed and the same vertex ids.
+     * Sources are visited in increasing order, so targets stay sorted without sorting.
+     *
+     * @return transposed CSR graph
+     */
+    public CsrGraph<T> transpose() {
+        int n = vertices.size();
+        int[] inOffsets = new int[n + 1];
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        int[] inSources = new int[targets.length];
+        double[] inWeights = new double[targets.length];
+        int[] position = Arrays.copyOf(inOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int edge = offsets[u]; edge < offsets[u + 1]; edge++) {
+                int slot = position[targets[edge]]++;
+                inSources[slot] = u;
+                inWeights[slot] = weights[edge];
+            }
+        }
+        return new CsrGraph<>(vertices, inOffsets, inSources, inWeights);
+    }
+
+    @Override
+    public Vertex<T> getVertex(T value) {
+        return idOf(value) >= 0 ? new Vertex<>(value) : null;
+    }
+
+    @Override
+    public void addVertex(T value) {
+        throw new UnsupportedOperationException("CsrGraph is immutable");
+    }
+
+    @Override
+    public Vertex<T> removeVertex(T value) {
+        throw new UnsupportedOperationException("CsrGraph is immutable");
+    }
+
+    @Override
+    public Edge<T> getEdge(T a, T b) {
+        int from = idOf(a);
+        int to = idOf(b);
+        if (from < 0 || to < 0) {
+            return null;
+        }
+        int edge = Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to);
+        return edge < 0 ? null : new Edge<>(a, b, weights[edge]);
+    }
+
+    @Override
+    public void addEdge(T a, T b, double weight) {
+        throw new UnsupportedOperationException("CsrGraph is immutable");
+    }
+
+    @Override
+    public Edge<T> removeEdge(T a, T b) {
+        throw new UnsupportedOperationException("CsrGraph is immutable");
+    }
+
+    @Override
+    public List<T> getVertices() {
+        List<T> list = new ArrayList<>(vertices.size());
+        forEachVertex(list::add);
+        return list;
+    }
+
+    @Override
+    public List<T> getAdjacentVertices(T vertex) {
+        int id = idOf(vertex);
+        List<T> adjacentVertices = new ArrayList<>();
+        if (id >= 0) {
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                adjacentVertices.add(vertices.valueOf(targets[edge]));
+            }
+        }
+        return adjacentVertices;
+    }
+
+    @Override
+    public void forEachVertex(Consumer<? super T> action) {
+        for (int id = 0; id < vertices.size(); id++) {
+            action.accept(vertices.valueOf(id));
+        }
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<? super T> action) {
+        int id = idOf(vertex);
+        if (id >= 0) {
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                action.accept(vertices.valueOf(targets[edge]), weights[edge]);
+            }
+        }
+    }
+
+    /**
+     * Visiting outgoing edges by ids.
+     *
+     * @param id dense id
+     * @param action called with the target id and the weight of every edge
+     */
+    public void forEachNeighborId(int id, NeighborIdConsumer action) {
+        for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+            action.accept(targets[edge], weights[edge]);
+        }
+    }
+
+    /**
+     * Append-only collector of vertices and edges in primitive arrays.
+     *
+     * @param <T> type of graph's vertices
+     */
+    public static class Builder<T> implements GraphSink<T> {
+        private final List<T> values = new ArrayList<>();
+        private final Map<T, Integer> ids = new HashMap<>();
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private double[] weights = new double[16];
+        private int edges;
+
+        @Override
+        public void addVertex(T value) {
+            id(value);
+        }
+
+        @Override
+        public void addEdge(T a, T b, double weight) {
+            int from = id(a);
+            int to = id(b);
+            if (edges == sources.length) {
+                int capacity = edges * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[edges] = from;
+            targets[edges] = to;
+            weights[edges] = weight;
+            edges++;
+        }
+
+        /**
+         * Builds the graph, of duplicate edges the first added one is kept.
+         *
+         * @return CSR graph
+         */
+        public CsrGraph<T> build() {
+            return CsrGraph.fromEdges(new ArrayList<>(values), new HashMap<>(ids),
+                    sources, targets, weights, edges);
+        }
+
+        private int id(T value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Builds the graph from edges given by dense ids, of duplicate edges the first one is kept.
+     * Edges are ordered by two stable counting sorts: by target and then by source.
+     *
+     * @param values vertex of every id
+     * @param ids id of every vertex
+     * @param sources source ids, only the first `edges` slots are used
+     * @param targets target ids
+     * @param weights weights
+     * @param edges number of edges
+     * @param <T> type of graph's vertices
+     * @return CSR graph owning the given list and map
+     */
+    static <T> CsrGraph<T> fromEdges(List<T> values, Map<T, Integer> ids, int[] sources,
+                                     int[] targets, double[] weights, int edges) {
+        return fromEdges(new MappedVertices<>(values, ids), sources, targets, weights, edges);
+    }
+
+    /**
+     * Builds the graph of integer labels from edges given by dense ids,
+     * id `i` is `labels[i]`, so no boxed map of labels is kept.
+     *
+     * @param labels sorted distinct labels, only the first `count` slots are used
+     * @param count number of vertices
+     * @param sources source ids, only the first `edges` slots are used
+     * @param targets target ids
+     * @param weights weights
+     * @param edges number of edges
+     * @return CSR graph
+     */
+    static CsrGraph<Integer> fromLabels(int[] labels, int count, int[] sources,
+                                        int[] targets, double[] weights, int edges) {
+        int[] trimmed = count == labels.length ? labels : Arrays.copyOf(labels, count);
+        return fromEdges(new LabelVertices(trimmed), sources, targets, weights, edges);
+    }
+
+    private static <T> CsrGraph<T> fromEdges(VertexIndex<T> vertices, int[] sources,
+                                             int[] targets, double[] weights, int edges) {
+        int vertexCount = vertices.size();
+        int[] byTarget = new int[edges];
+        int[] targetOffsets = countingOffsets(targets, edges, vertexCount);
+        for (int i = 0; i < edges; i++) {
+            byTarget[targetOffsets[targets[i]]++] = i;
+        }
+        int[] offsets = countingOffsets(sources, edges, vertexCount);
+        int[] position = Arrays.copyOf(offsets, vertexCount);
+        int[] sortedTargets = new int[edges];
+        double[] sortedWeights = new double[edges];
+        for (int i : byTarget) {
+            int slot = position[sources[i]]++;
+            sortedTargets[slot] = targets[i];
+            sortedWeights[slot] = weights[i];
+        }
+        int count = 0;
+        int[] uniqueOffsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            for (int edge = offsets[v]; edge < offsets[v + 1]; edge++) {
+                boolean duplicate = count > uniqueOffsets[v]
+                        && sortedTargets[count - 1] == sortedTargets[edge];
+                if (duplicate) {
+                    continue;
+                }
+                sortedTargets[count] = sortedTargets[edge];
+                sortedWeights[count] = sortedWeights[edge];
+                count++;
+            }
+            uniqueOffsets[v + 1] = count;
+        }
+        return new CsrGraph<>(vertices, uniqueOffsets,
+                Arrays.copyOf(sortedTargets, count), Arrays.copyOf(sortedWeights, count));
+    }
+
+    /**
+     * Start of every key's bucket, the array has one extra slot for the end.
+     */
+    private static int[] countingOffsets(int[] keys, int edges, int vertexCount) {
+        int[] offsets = new int[vertexCount + 1];
+        for (int i = 0; i < edges; i++) {
+            offsets[keys[i] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        return offsets;
+    }
+
+    /**
+     * Mapping between vertex values and dense ids.
+     */
+    private interface VertexIndex<T> {
+        int size();
+
+        T valueOf(int id);
+
+        int idOf(T value);
+    }
+
+    /**
+     * Vertices of any type, ids are looked up in a hash map.
+     */
+    private static final class MappedVertices<T> implements VertexIndex<T> {
+        private final List<T> values;
+        private final Map<T, Integer> ids;
+
+        MappedVertices(List<T> values, Map<T, Integer> ids) {
+            this.values = values;
+            this.ids = ids;
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public T valueOf(int id) {
+            return values.get(id);
+        }
+
+        @Override
+        public int idOf(T value) {
+            Integer id = ids.get(value);
+            return id == null ? -1 : id;
+        }
+    }
+
+    /**
+     * Integer vertices, ids are positions in the sorted array of labels.
+     */
+    private static final class LabelVertices implements VertexIndex<Integer> {
+        private final int[] labels;
+
+        LabelVertices(int[] labels) {
+            this.labels = labels;
+        }
+
+        @Override
+        public int size() {
+            return labels.length;
+        }
+
+        @Override
+        public Integer valueOf(int id) {
+            return labels[id];
+        }
+
+        @Override
+        public int idOf(Integer value) {
+            if (value == null) {
+                return -1;
+            }
+            int id = Arrays.binarySearch(labels, value);
+            return id < 0 ? -1 : id;
+        }
+    }
+}
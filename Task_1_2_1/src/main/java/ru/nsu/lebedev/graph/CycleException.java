@@ -0,0 +1,29 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.List;
+
+/**
+ * Thrown when an algorithm for acyclic graphs meets a cycle.
+ */
+public class CycleException extends IllegalStateException {
+    private final transient List<?> cycle;
+
+    /**
+     * Constructs exception with the found cycle.
+     *
+     * @param cycle vertices of the cycle, the first vertex is repeated at the end
+     */
+    public CycleException(List<?> cycle) {
+        super("Graph has a cycle: " + cycle);
+        this.cycle = List.copyOf(cycle);
+    }
+
+    /**
+     * Cycle getter.
+     *
+     * @return vertices of the cycle, the first vertex is repeated at the end
+     */
+    public List<?> getCycle() {
+        return cycle;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.nsu.lebedev.graph;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Default realization of VertexCodec interface, strings are stored in UTF-8.
+ */
+public class DefaultVertexCodec implements VertexCodec<String> {
+    @Override
+    public byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -5,7 +5,7 @@ package ru.nsu.lebedev.graph;
  */
 public class DefaultVertexReader implements VertexReader<String> {
     @Override
-    public void readVertex(Graph<String> graph, String line) {
+    public void readVertex(GraphSink<String> graph, String line) {
         var edgeData = line.split(" ");
         graph.addEdge(edgeData[0], edgeData[1], Double.parseDouble(edgeData[2]));
     }
@@ -0,0 +1,418 @@
+package ru.nsu.lebedev.graph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Multithreaded loader of edge lists with integer vertices.
+ * Every line is `from to [weight]`, separated by spaces or tabs, weight defaults to 1.0,
+ * empty lines and lines starting with `#` are skipped.
+ * The file is memory-mapped in line-aligned chunks, every chunk is parsed from bytes
+ * into its own primitive edge buffer on the common ForkJoinPool,
+ * then buffers are merged into a CSR graph in file order.
+ */
+public class EdgeListLoader {
+    private static final long MIN_CHUNK = 1 << 20;
+    private static final long MAX_CHUNK = 1 << 28;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private long loadedEdges;
+    private long loadNanos;
+
+    /**
+     * Reading graph from file.
+     *
+     * @param filename file with data.
+     * @return CSR graph with labels of the file as vertices
+     * @throws IOException if the file can't be read or has a malformed line
+     */
+    public CsrGraph<Integer> load(String filename) throws IOException {
+        long start = System.nanoTime();
+        EdgeBuffer[] buffers;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            buffers = new EdgeBuffer[bounds.length - 1];
+            IntStream.range(0, buffers.length).parallel().forEach(chunk -> {
+                try {
+                    buffers[chunk] = parse(channel, bounds[chunk], bounds[chunk + 1]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw new IOException("Error reading graph data from file: " + filename,
+                    e.getCause());
+        } catch (IOException e) {
+            throw new IOException("Error reading graph data from file: " + filename, e);
+        }
+        CsrGraph<Integer> graph = merge(buffers);
+        loadedEdges = Arrays.stream(buffers).mapToLong(buffer -> buffer.size).sum();
+        loadNanos = System.nanoTime() - start;
+        return graph;
+    }
+
+    /**
+     * Number of edge lines in the last loaded file, duplicates included.
+     *
+     * @return count of edges
+     */
+    public long getLoadedEdges() {
+        return loadedEdges;
+    }
+
+    /**
+     * Duration of the last load including the CSR build.
+     *
+     * @return duration in nanoseconds
+     */
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    /**
+     * Throughput of the last load.
+     *
+     * @return edges per second
+     */
+    public double getEdgesPerSecond() {
+        return loadNanos == 0 ? 0.0 : loadedEdges * 1e9 / loadNanos;
+    }
+
+    /**
+     * Splits the file into chunks which start right after a line break.
+     */
+    private static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long chunk = Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, size / (parallelism * 4L)));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(256);
+        long position = chunk;
+        while (position < size) {
+            long lineEnd = -1;
+            while (lineEnd < 0 && position < size) {
+                probe.clear();
+                int read = channel.read(probe, position);
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        lineEnd = position + i + 1;
+                        break;
+                    }
+                }
+                position += Math.max(read, 0);
+                if (read <= 0) {
+                    break;
+                }
+            }
+            if (lineEnd < 0 || lineEnd >= size) {
+                break;
+            }
+            bounds.add(lineEnd);
+            position = lineEnd + chunk;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static EdgeBuffer parse(FileChannel channel, long from, long to) throws IOException {
+        EdgeBuffer buffer = new EdgeBuffer();
+        if (from == to) {
+            return buffer;
+        }
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        Parser parser = new Parser(bytes, from);
+        while (parser.hasMore()) {
+            parser.skipBlanks();
+            if (parser.atLineEnd()) {
+                parser.skipLine();
+                continue;
+            }
+            if (parser.peek() == '#') {
+                parser.skipLine();
+                continue;
+            }
+            int source = parser.readLabel();
+            parser.skipBlanks();
+            int target = parser.readLabel();
+            parser.skipBlanks();
+            double weight = parser.atLineEnd() ? 1.0 : parser.readWeight();
+            parser.skipBlanks();
+            if (!parser.atLineEnd()) {
+                throw parser.error();
+            }
+            parser.skipLine();
+            buffer.add(source, target, weight);
+        }
+        return buffer;
+    }
+
+    /**
+     * Concatenates buffers in file order and turns labels into dense ids
+     * given in increasing order of labels.
+     * Distinct labels are collected in an open-addressing table, only they are sorted,
+     * then every edge end is mapped through the table, so memory depends on the number
+     * of edges and vertices, not on the largest label.
+     */
+    private static CsrGraph<Integer> merge(EdgeBuffer[] buffers) {
+        long total = Arrays.stream(buffers).mapToLong(buffer -> buffer.size).sum();
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many edges for a CSR graph: " + total);
+        }
+        int edges = (int) total;
+        int[] starts = new int[buffers.length];
+        for (int i = 1; i < buffers.length; i++) {
+            starts[i] = starts[i - 1] + buffers[i - 1].size;
+        }
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        double[] weights = new double[edges];
+        IntStream.range(0, buffers.length).parallel().forEach(i -> {
+            EdgeBuffer buffer = buffers[i];
+            System.arraycopy(buffer.sources, 0, sources, starts[i], buffer.size);
+            System.arraycopy(buffer.targets, 0, targets, starts[i], buffer.size);
+            System.arraycopy(buffer.weights, 0, weights, starts[i], buffer.size);
+        });
+        LabelIndex index = new LabelIndex();
+        for (int i = 0; i < edges; i++) {
+            index.add(sources[i]);
+            index.add(targets[i]);
+        }
+        int[] labels = index.sortedLabels();
+        IntStream.range(0, edges).parallel().forEach(i -> {
+            sources[i] = index.idOf(sources[i]);
+            targets[i] = index.idOf(targets[i]);
+        });
+        return CsrGraph.fromLabels(labels, labels.length, sources, targets, weights, edges);
+    }
+
+    /**
+     * Linear probing table from a label to its rank among distinct labels,
+     * labels are not negative, so -1 marks an empty slot.
+     * Ranks are assigned by sortedLabels, after that the table is only read.
+     */
+    private static final class LabelIndex {
+        private int[] keys = new int[16];
+        private int[] ids = new int[16];
+        private int mask = 15;
+        private int shift = 28;
+        private int size;
+
+        LabelIndex() {
+            Arrays.fill(keys, -1);
+        }
+
+        void add(int label) {
+            int slot = slot(label);
+            while (keys[slot] != -1) {
+                if (keys[slot] == label) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = label;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        int[] sortedLabels() {
+            int[] labels = new int[size];
+            int count = 0;
+            for (int key : keys) {
+                if (key != -1) {
+                    labels[count++] = key;
+                }
+            }
+            Arrays.parallelSort(labels);
+            for (int id = 0; id < labels.length; id++) {
+                ids[find(labels[id])] = id;
+            }
+            return labels;
+        }
+
+        int idOf(int label) {
+            return ids[find(label)];
+        }
+
+        private int find(int label) {
+            int slot = slot(label);
+            while (keys[slot] != label) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private int slot(int label) {
+            return label * 0x9E3779B9 >>> shift;
+        }
+
+        private void grow() {
+            int[] old = keys;
+            keys = new int[old.length * 2];
+            ids = new int[keys.length];
+            mask = keys.length - 1;
+            shift--;
+            Arrays.fill(keys, -1);
+            for (int key : old) {
+                if (key != -1) {
+                    int slot = slot(key);
+                    while (keys[slot] != -1) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = key;
+                }
+            }
+        }
+    }
+
+    /**
+     * Edges parsed from one chunk.
+     */
+    private static final class EdgeBuffer {
+        private int[] sources = new int[1024];
+        private int[] targets = new int[1024];
+        private double[] weights = new double[1024];
+        private int size;
+
+        void add(int source, int target, double weight) {
+            if (size == sources.length) {
+                int capacity = size * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    /**
+     * Cursor over the bytes of one chunk.
+     */
+    private static final class Parser {
+        private final MappedByteBuffer bytes;
+        private final long offset;
+        private int position;
+
+        Parser(MappedByteBuffer bytes, long offset) {
+            this.bytes = bytes;
+            this.offset = offset;
+        }
+
+        boolean hasMore() {
+            return position < bytes.limit();
+        }
+
+        byte peek() {
+            return bytes.get(position);
+        }
+
+        boolean atLineEnd() {
+            return !hasMore() || peek() == '\n' || peek() == '\r';
+        }
+
+        void skipBlanks() {
+            while (hasMore() && (peek() == ' ' || peek() == '\t')) {
+                position++;
+            }
+        }
+
+        void skipLine() {
+            while (hasMore() && bytes.get(position++) != '\n') {
+                continue;
+            }
+        }
+
+        int readLabel() throws IOException {
+            long value = 0;
+            int start = position;
+            while (hasMore() && isDigit(peek())) {
+                value = value * 10 + (bytes.get(position++) - '0');
+                if (value > Integer.MAX_VALUE - 8) {
+                    throw error();
+                }
+            }
+            if (position == start) {
+                throw error();
+            }
+            return (int) value;
+        }
+
+        /**
+         * Decimal weight, exact as `Double.parseDouble` while the mantissa has
+         * at most 15 digits and the exponent is small, otherwise the token is
+         * handed over to `Double.parseDouble`.
+         */
+        double readWeight() throws IOException {
+            int start = position;
+            boolean negative = false;
+            if (peek() == '-' || peek() == '+') {
+                negative = peek() == '-';
+                position++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int scale = 0;
+            while (hasMore() && isDigit(peek())) {
+                mantissa = mantissa * 10 + (bytes.get(position++) - '0');
+                digits++;
+            }
+            if (hasMore() && peek() == '.') {
+                position++;
+                while (hasMore() && isDigit(peek())) {
+                    mantissa = mantissa * 10 + (bytes.get(position++) - '0');
+                    digits++;
+                    scale++;
+                }
+            }
+            boolean simple = digits > 0 && digits <= 15;
+            if (hasMore() && (peek() == 'e' || peek() == 'E')) {
+                simple = false;
+                position++;
+                if (hasMore() && (peek() == '-' || peek() == '+')) {
+                    position++;
+                }
+                while (hasMore() && isDigit(peek())) {
+                    position++;
+                }
+            }
+            if (simple && scale < POWERS_OF_TEN.length) {
+                double value = mantissa / POWERS_OF_TEN[scale];
+                return negative ? -value : value;
+            }
+            byte[] token = new byte[position - start];
+            bytes.get(start, token);
+            try {
+                return Double.parseDouble(new String(token, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw error();
+            }
+        }
+
+        IOException error() {
+            return new IOException("Malformed edge near byte " + (offset + position));
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+    }
+}
@@ -4,13 +4,15 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Graph interface.
  *
  * @param <T> type of graph's vertices
  */
-public interface Graph<T> {
+public interface Graph<T> extends GraphSink<T> {
     /**
      * Vertex getter.
      *
@@ -25,6 +27,7 @@ public interface Graph<T> {
      *
      * @param value value of vertex
      */
+    @Override
     void addVertex(T value);
 
     /**
@@ -54,6 +57,7 @@ public interface Graph<T> {
      * @param b second vertex
      * @param weight double value
      */
+    @Override
     void addEdge(T a, T b, double weight);
 
     /**
@@ -69,11 +73,11 @@ public interface Graph<T> {
     /**
      * Method for reading graph's data from file.
      *
-     * @param graph graph upcasted to Graph class.
+     * @param graph graph or any other sink of vertices and edges.
      * @param filename file with data.
      * @param reader type of realization if interface VertexReader.
      */
-    static <T> void readDataForGraphFromFile(Graph<T> graph,
+    static <T> void readDataForGraphFromFile(GraphSink<T> graph,
                                              String filename, VertexReader<T> reader)
         throws IOException {
         try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
@@ -100,4 +104,26 @@ public interface Graph<T> {
      * @return a list of neighbors for the passed vertex.
      */
     List<T> getAdjacentVertices(T vertex);
+
+    /**
+     * Method for visiting vertices without copying them into a list.
+     *
+     * @param action called for every vertex.
+     */
+    default void forEachVertex(Consumer<? super T> action) {
+        getVertices().forEach(action);
+    }
+
+    /**
+     * Method for visiting outgoing edges without creating lists or Edge objects.
+     * Implementations override it with a version that allocates nothing.
+     *
+     * @param vertex of graph.
+     * @param action called with the adjacent vertex and the weight of every edge.
+     */
+    default void forEachNeighbor(T vertex, ObjDoubleConsumer<? super T> action) {
+        for (T adjacent : getAdjacentVertices(vertex)) {
+            action.accept(adjacent, getEdge(vertex, adjacent).getWeight());
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package ru.nsu.lebedev.graph;
+
+/**
+ * Append-only target of vertices and edges, filled by a VertexReader.
+ *
+ * @param <T> type of graph's vertices
+ */
+public interface GraphSink<T> {
+    /**
+     * Vertex creation.
+     * Add vertex with specified value if vertex with it doesn't exist.
+     *
+     * @param value value of vertex
+     */
+    void addVertex(T value);
+
+    /**
+     * Edge creation.
+     * Creates vertices `a` and `b` if they don't exist.
+     *
+     * @param a first vertex
+     * @param b second vertex
+     * @param weight double value
+     */
+    void addEdge(T a, T b, double weight);
+}
@@ -1,22 +1,42 @@
 package ru.nsu.lebedev.graph;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * Incidence Matrix Graph class implementation.
  * raw - vertex; col - edge.
+ * The matrix is sparse: a column has two non-zero cells, `weight` in the row of `from`
+ * and `-weight` in the row of `to`, so it is stored as three primitive arrays,
+ * and every row keeps the list of its non-zero columns.
+ * Columns are found by a hash index from (from, to), removed columns become
+ * tombstones and are compacted when they are more than a half of all columns.
+ * A repeated edge between the same vertices is ignored.
  *
  * @param <T> type of graph's vertices
  */
 public class IncidenceMatrixGraph<T> implements Graph<T> {
+    private static final int MIN_COMPACTION = 64;
+
     private final Map<T, Vertex<T>> vertices = new HashMap<>();
     private final Map<T, Integer> vertexIndex = new HashMap<>();
-    private final List<Map.Entry<Edge<T>, Double>> edges = new ArrayList<>();
-    private final List<List<Double>> incMatrix = new ArrayList<>();
+    private final List<T> indexVertex = new ArrayList<>();
+    private final Deque<Integer> freeRows = new ArrayDeque<>();
+    private final Map<Long, Integer> edgeIndex = new HashMap<>();
+    private int[][] rows = new int[16][];
+    private int[] rowSizes = new int[16];
+    private int[] columnFrom = new int[16];
+    private int[] columnTo = new int[16];
+    private double[] columnWeight = new double[16];
+    private int columns;
+    private int tombstones;
 
     @Override
     public Vertex<T> getVertex(T value) {
@@ -26,13 +46,23 @@ public class IncidenceMatrixGraph<T> implements Graph<T> {
     @Override
     public void addVertex(T value) {
         if (vertices.containsKey(value)) {
-            vertices.get(value);
             return;
         }
-        Vertex<T> newVertex = new Vertex<>(value);
-        vertices.put(value, newVertex);
-        vertexIndex.put(value, vertexIndex.size());
-        incMatrix.add(new ArrayList<>(Collections.nCopies(edges.size(), null)));
+        int index;
+        if (freeRows.isEmpty()) {
+            index = indexVertex.size();
+            indexVertex.add(value);
+            if (index == rows.length) {
+                rows = Arrays.copyOf(rows, index * 2);
+                rowSizes = Arrays.copyOf(rowSizes, index * 2);
+            }
+            rows[index] = new int[4];
+        } else {
+            index = freeRows.pop();
+            indexVertex.set(index, value);
+        }
+        vertices.put(value, new Vertex<>(value));
+        vertexIndex.put(value, index);
     }
 
     @Override
@@ -42,51 +72,63 @@ public class IncidenceMatrixGraph<T> implements Graph<T> {
         }
         int index = vertexIndex.remove(value);
         vertices.remove(value);
-        incMatrix.remove(index);
-        for (List<Double> row : incMatrix) {
-            row.remove(index);
+        for (int i = 0; i < rowSizes[index]; i++) {
+            int column = rows[index][i];
+            if (columnFrom[column] >= 0) {
+                edgeIndex.remove(key(columnFrom[column], columnTo[column]));
+                kill(column);
+            }
         }
+        rowSizes[index] = 0;
+        indexVertex.set(index, null);
+        freeRows.push(index);
+        compactIfNeeded();
         return new Vertex<>(value);
     }
 
     @Override
     public Edge<T> getEdge(T a, T b) {
-        for (Map.Entry<Edge<T>, Double> edge : edges) {
-            if (edge.getKey().getFrom().equals(a) && edge.getKey().getTo().equals(b)) {
-                return edge.getKey();
-            }
-        }
-        return null;
+        Integer column = column(a, b);
+        return column == null ? null : new Edge<>(a, b, columnWeight[column]);
     }
 
     @Override
     public void addEdge(T a, T b, double weight) {
         addVertex(a);
         addVertex(b);
-        Edge<T> newEdge = new Edge<>(a, b, weight);
-        edges.add(Map.entry(newEdge, weight));
-        for (List<Double> row : incMatrix) {
-            row.add(null);
-        }
         int indexA = vertexIndex.get(a);
         int indexB = vertexIndex.get(b);
-        incMatrix.get(indexA).set(edges.size() - 1, weight);
-        incMatrix.get(indexB).set(edges.size() - 1, -weight);
+        long key = key(indexA, indexB);
+        if (edgeIndex.containsKey(key)) {
+            return;
+        }
+        if (columns == columnFrom.length) {
+            columnFrom = Arrays.copyOf(columnFrom, columns * 2);
+            columnTo = Arrays.copyOf(columnTo, columns * 2);
+            columnWeight = Arrays.copyOf(columnWeight, columns * 2);
+        }
+        columnFrom[columns] = indexA;
+        columnTo[columns] = indexB;
+        columnWeight[columns] = weight;
+        addToRow(indexA, columns);
+        if (indexB != indexA) {
+            addToRow(indexB, columns);
+        }
+        edgeIndex.put(key, columns);
+        columns++;
     }
 
     @Override
     public Edge<T> removeEdge(T a, T b) {
-        for (int i = 0; i < edges.size(); i++) {
-            Edge<T> edge = edges.get(i).getKey();
-            if (edge.getFrom().equals(a) && edge.getTo().equals(b)) {
-                Edge<T> removedEdge = edges.remove(i).getKey();
-                for (List<Double> row : incMatrix) {
-                    row.remove(i);
-                }
-                return removedEdge;
-            }
+        Integer column = column(a, b);
+        if (column == null) {
+            return null;
         }
-        return null;
+        Edge<T> removedEdge = new Edge<>(a, b, columnWeight[column]);
+        edgeIndex.remove(key(columnFrom[column], columnTo[column]));
+        kill(column);
+        compactIfNeeded();
+        return removedEdge;
     }
 
     @Override
@@ -97,14 +139,100 @@ public class IncidenceMatrixGraph<T> implements Graph<T> {
     @Override
     public List<T> getAdjacentVertices(T vertex) {
         List<T> adjacentVertices = new ArrayList<>();
-        int index = vertexIndex.get(vertex);
-        for (int i = 0; i < edges.size(); i++) {
-            Double weight = incMatrix.get(index).get(i);
-            if (weight != null && weight > 0) {
-                adjacentVertices.add(edges.get(i).getKey().getTo());
+        Integer index = vertexIndex.get(vertex);
+        if (index == null) {
+            return adjacentVertices;
+        }
+        for (int i = 0; i < rowSizes[index]; i++) {
+            int column = rows[index][i];
+            if (columnFrom[column] == index) {
+                adjacentVertices.add(indexVertex.get(columnTo[column]));
             }
         }
         return adjacentVertices;
     }
-}
 
+    @Override
+    public void forEachVertex(Consumer<? super T> action) {
+        for (T vertex : vertices.keySet()) {
+            action.accept(vertex);
+        }
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<? super T> action) {
+        Integer index = vertexIndex.get(vertex);
+        if (index == null) {
+            return;
+        }
+        for (int i = 0; i < rowSizes[index]; i++) {
+            int column = rows[index][i];
+            if (columnFrom[column] == index) {
+                action.accept(indexVertex.get(columnTo[column]), columnWeight[column]);
+            }
+        }
+    }
+
+    private Integer column(T a, T b) {
+        Integer indexA = vertexIndex.get(a);
+        Integer indexB = vertexIndex.get(b);
+        if (indexA == null || indexB == null) {
+            return null;
+        }
+        return edgeIndex.get(key(indexA, indexB));
+    }
+
+    private void addToRow(int row, int column) {
+        if (rowSizes[row] == rows[row].length) {
+            rows[row] = Arrays.copyOf(rows[row], rowSizes[row] * 2);
+        }
+        rows[row][rowSizes[row]++] = column;
+    }
+
+    /**
+     * Marks a column as a tombstone, rows still refer to it until compaction.
+     */
+    private void kill(int column) {
+        columnFrom[column] = -1;
+        tombstones++;
+    }
+
+    /**
+     * Renumbers live columns keeping their order and drops tombstones from rows.
+     */
+    private void compactIfNeeded() {
+        if (tombstones < MIN_COMPACTION || tombstones * 2 < columns) {
+            return;
+        }
+        int[] newColumn = new int[columns];
+        int live = 0;
+        for (int column = 0; column < columns; column++) {
+            if (columnFrom[column] < 0) {
+                newColumn[column] = -1;
+                continue;
+            }
+            newColumn[column] = live;
+            columnFrom[live] = columnFrom[column];
+            columnTo[live] = columnTo[column];
+            columnWeight[live] = columnWeight[column];
+            edgeIndex.put(key(columnFrom[live], columnTo[live]), live);
+            live++;
+        }
+        for (int row = 0; row < indexVertex.size(); row++) {
+            int size = 0;
+            for (int i = 0; i < rowSizes[row]; i++) {
+                int column = newColumn[rows[row][i]];
+                if (column >= 0) {
+                    rows[row][size++] = column;
+                }
+            }
+            rowSizes[row] = size;
+        }
+        columns = live;
+        tombstones = 0;
+    }
+
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,398 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Acyclic graph keeping its topological order up to date on every change.
+ * Wraps any graph, all changes must go through the wrapper.
+ * An inserted edge that breaks the order is handled by the Pearce-Kelly algorithm:
+ * only vertices with positions between the ends of the edge are searched and
+ * moved, and an edge creating a cycle is rejected before anything is changed.
+ * Positions are dense, position and order queries take O(1),
+ * removing a vertex shifts the positions after it.
+ *
+ * @param <T> type of graph's vertices
+ */
+public class IncrementalTopologicalOrder<T> implements Graph<T> {
+    private final Graph<T> graph;
+    private final Map<T, Integer> ids = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+    private int[] position = new int[16];
+    private int[] order = new int[16];
+    private int[][] successors = new int[16][];
+    private int[] successorCount = new int[16];
+    private int[][] predecessors = new int[16][];
+    private int[] predecessorCount = new int[16];
+    private int[] marks = new int[16];
+    private int[] parents = new int[16];
+    private int[] stack = new int[16];
+    private int mark;
+
+    /**
+     * Sorts the graph once, later changes only update the order.
+     *
+     * @param graph acyclic graph of any type
+     * @throws CycleException if the graph has a cycle
+     */
+    public IncrementalTopologicalOrder(Graph<T> graph) {
+        this.graph = graph;
+        for (T vertex : new TopologicalSort<T>().sort(graph)) {
+            register(vertex);
+        }
+        for (int v = 0; v < values.size(); v++) {
+            int from = v;
+            graph.forEachNeighbor(values.get(v), (adjacent, weight) ->
+                    link(from, ids.get(adjacent)));
+        }
+    }
+
+    /**
+     * Position of a vertex in the current order.
+     *
+     * @param vertex vertex of graph
+     * @return position from 0 to the number of vertices - 1
+     * @throws IllegalArgumentException if there is no such vertex
+     */
+    public int position(T vertex) {
+        return position[id(vertex)];
+    }
+
+    /**
+     * Vertex by its position in the current order.
+     *
+     * @param position from 0 to the number of vertices - 1
+     * @return vertex at the position
+     */
+    public T vertexAt(int position) {
+        if (position < 0 || position >= values.size()) {
+            throw new IndexOutOfBoundsException("No position " + position);
+        }
+        return values.get(order[position]);
+    }
+
+    /**
+     * Order query.
+     *
+     * @param a vertex of graph
+     * @param b vertex of graph
+     * @return true if a is before b in the current order
+     * @throws IllegalArgumentException if there is no such vertex
+     */
+    public boolean precedes(T a, T b) {
+        return position[id(a)] < position[id(b)];
+    }
+
+    /**
+     * The whole current order.
+     *
+     * @return list of vertices in topological order
+     */
+    public List<T> order() {
+        List<T> sorted = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            sorted.add(values.get(order[i]));
+        }
+        return sorted;
+    }
+
+    @Override
+    public Vertex<T> getVertex(T value) {
+        return graph.getVertex(value);
+    }
+
+    @Override
+    public void addVertex(T value) {
+        if (!ids.containsKey(value)) {
+            graph.addVertex(value);
+            register(value);
+        }
+    }
+
+    /**
+     * Removing a vertex with its edges, positions after it are shifted.
+     *
+     * @param value vertex of graph
+     * @return removed vertex or null if there is no such vertex
+     */
+    @Override
+    public Vertex<T> removeVertex(T value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            return null;
+        }
+        Vertex<T> removed = graph.removeVertex(value);
+        for (int i = 0; i < successorCount[id]; i++) {
+            int w = successors[id][i];
+            predecessorCount[w] = without(predecessors[w], predecessorCount[w], id);
+        }
+        for (int i = 0; i < predecessorCount[id]; i++) {
+            int u = predecessors[id][i];
+            successorCount[u] = without(successors[u], successorCount[u], id);
+        }
+        int n = values.size();
+        for (int p = position[id]; p + 1 < n; p++) {
+            order[p] = order[p + 1];
+            position[order[p]] = p;
+        }
+        int last = n - 1;
+        if (id != last) {
+            renumber(last, id);
+        }
+        ids.remove(value);
+        values.remove(last);
+        return removed;
+    }
+
+    @Override
+    public Edge<T> getEdge(T a, T b) {
+        return graph.getEdge(a, b);
+    }
+
+    /**
+     * Adding an edge and updating the order.
+     *
+     * @param a first vertex
+     * @param b second vertex
+     * @param weight weight of the edge
+     * @throws CycleException if the edge creates a cycle, the graph is not changed then
+     */
+    @Override
+    public void addEdge(T a, T b, double weight) {
+        if (a.equals(b)) {
+            throw new CycleException(List.of(a, a));
+        }
+        addVertex(a);
+        addVertex(b);
+        int from = ids.get(a);
+        int to = ids.get(b);
+        if (position[to] < position[from]) {
+            reorder(from, to);
+        }
+        boolean linked = graph.getEdge(a, b) != null;
+        graph.addEdge(a, b, weight);
+        if (!linked) {
+            link(from, to);
+        }
+    }
+
+    @Override
+    public Edge<T> removeEdge(T a, T b) {
+        Edge<T> removed = graph.removeEdge(a, b);
+        if (removed != null && graph.getEdge(a, b) == null) {
+            int from = ids.get(a);
+            int to = ids.get(b);
+            successorCount[from] = without(successors[from], successorCount[from], to);
+            predecessorCount[to] = without(predecessors[to], predecessorCount[to], from);
+        }
+        return removed;
+    }
+
+    @Override
+    public List<T> getVertices() {
+        return graph.getVertices();
+    }
+
+    @Override
+    public List<T> getAdjacentVertices(T vertex) {
+        return graph.getAdjacentVertices(vertex);
+    }
+
+    @Override
+    public void forEachVertex(Consumer<? super T> action) {
+        graph.forEachVertex(action);
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<? super T> action) {
+        graph.forEachNeighbor(vertex, action);
+    }
+
+    /**
+     * Pearce-Kelly update for a new edge from -> to with position[to] < position[from].
+     * Vertices reachable from `to` and vertices reaching `from` inside the affected
+     * range are found, then the second ones take the lowest of their common positions.
+     */
+    private void reorder(int from, int to) {
+        int lower = position[to];
+        int upper = position[from];
+        mark++;
+        int[] forward = search(to, from, upper, true);
+        int[] backward = search(from, -1, lower, false);
+        int[] forwardPositions = positionsOf(forward);
+        int[] backwardPositions = positionsOf(backward);
+        int[] merged = new int[forward.length + backward.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.length; k++) {
+            boolean takeForward = j == backwardPositions.length
+                    || i < forwardPositions.length && forwardPositions[i] < backwardPositions[j];
+            merged[k] = takeForward ? forwardPositions[i++] : backwardPositions[j++];
+        }
+        int[] moved = new int[merged.length];
+        for (int k = 0; k < backwardPositions.length; k++) {
+            moved[k] = order[backwardPositions[k]];
+        }
+        for (int k = 0; k < forwardPositions.length; k++) {
+            moved[backwardPositions.length + k] = order[forwardPositions[k]];
+        }
+        for (int k = 0; k < merged.length; k++) {
+            position[moved[k]] = merged[k];
+            order[merged[k]] = moved[k];
+        }
+    }
+
+    /**
+     * Iterative depth-first search inside the affected range.
+     * Forward search goes to successors with positions below the bound and fails
+     * on the target, backward search goes to predecessors with positions above it.
+     *
+     * @return found vertices
+     * @throws CycleException if the forward search reaches the target
+     */
+    private int[] search(int start, int target, int bound, boolean forward) {
+        int[] found = new int[16];
+        int count = 0;
+        int depth = 0;
+        stack[0] = start;
+        marks[start] = mark;
+        parents[start] = -1;
+        while (depth >= 0) {
+            int v = stack[depth--];
+            if (count == found.length) {
+                found = Arrays.copyOf(found, count * 2);
+            }
+            found[count++] = v;
+            int[] adjacent = forward ? successors[v] : predecessors[v];
+            int size = forward ? successorCount[v] : predecessorCount[v];
+            for (int i = 0; i < size; i++) {
+                int w = adjacent[i];
+                if (w == target) {
+                    parents[w] = v;
+                    throw new CycleException(cycle(target));
+                }
+                boolean inRange = forward ? position[w] < bound : position[w] > bound;
+                if (inRange && marks[w] != mark) {
+                    marks[w] = mark;
+                    parents[w] = v;
+                    stack[++depth] = w;
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private List<Object> cycle(int target) {
+        List<Object> path = new ArrayList<>();
+        for (int v = target; v != -1; v = parents[v]) {
+            path.add(values.get(v));
+        }
+        List<Object> cycle = new ArrayList<>();
+        cycle.add(values.get(target));
+        for (int i = path.size() - 1; i >= 0; i--) {
+            cycle.add(path.get(i));
+        }
+        return cycle;
+    }
+
+    private int[] positionsOf(int[] vertices) {
+        int[] positions = new int[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            positions[i] = position[vertices[i]];
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    private int id(T vertex) {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            throw new IllegalArgumentException("No vertex " + vertex);
+        }
+        return id;
+    }
+
+    private void register(T vertex) {
+        int id = values.size();
+        if (id == position.length) {
+            int capacity = id * 2;
+            position = Arrays.copyOf(position, capacity);
+            order = Arrays.copyOf(order, capacity);
+            successors = Arrays.copyOf(successors, capacity);
+            successorCount = Arrays.copyOf(successorCount, capacity);
+            predecessors = Arrays.copyOf(predecessors, capacity);
+            predecessorCount = Arrays.copyOf(predecessorCount, capacity);
+            marks = Arrays.copyOf(marks, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            stack = Arrays.copyOf(stack, capacity);
+        }
+        ids.put(vertex, id);
+        values.add(vertex);
+        position[id] = id;
+        order[id] = id;
+        successors[id] = new int[2];
+        successorCount[id] = 0;
+        predecessors[id] = new int[2];
+        predecessorCount[id] = 0;
+        marks[id] = 0;
+    }
+
+    private void link(int from, int to) {
+        successors[from] = append(successors[from], successorCount[from]++, to);
+        predecessors[to] = append(predecessors[to], predecessorCount[to]++, from);
+    }
+
+    /**
+     * Moves the vertex with id `from` to id `to`, the old id `to` must be unused.
+     */
+    private void renumber(int from, int to) {
+        T value = values.get(from);
+        values.set(to, value);
+        ids.put(value, to);
+        position[to] = position[from];
+        order[position[to]] = to;
+        successors[to] = successors[from];
+        successorCount[to] = successorCount[from];
+        predecessors[to] = predecessors[from];
+        predecessorCount[to] = predecessorCount[from];
+        for (int i = 0; i < successorCount[to]; i++) {
+            int w = successors[to][i];
+            replace(predecessors[w], predecessorCount[w], from, to);
+        }
+        for (int i = 0; i < predecessorCount[to]; i++) {
+            int u = predecessors[to][i];
+            replace(successors[u], successorCount[u], from, to);
+        }
+    }
+
+    private static int[] append(int[] array, int size, int value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, size * 2);
+        }
+        array[size] = value;
+        return array;
+    }
+
+    private static int without(int[] array, int size, int value) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (array[i] != value) {
+                array[count++] = array[i];
+            }
+        }
+        return count;
+    }
+
+    private static void replace(int[] array, int size, int from, int to) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == from) {
+                array[i] = to;
+            }
+        }
+    }
+}
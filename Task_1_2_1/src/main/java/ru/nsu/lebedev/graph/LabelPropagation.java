@@ -0,0 +1,83 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Semi-supervised label propagation as a vertex program.
+ * Seed vertices keep their labels, every other vertex takes the mean
+ * of the values of its predecessors, so on an undirected graph values converge
+ * to the harmonic function of the seeds. Use a threshold to turn values into classes.
+ */
+public class LabelPropagation implements VertexProgram {
+    private static final int CHANGE = 0;
+
+    private final BitSet seeded = new BitSet();
+    private final double[] labels;
+    private final double initial;
+    private final double tolerance;
+
+    /**
+     * Propagation from seeds.
+     * Seeds are copied into a label array and a bit set indexed by id,
+     * so supersteps don't look up boxed keys.
+     *
+     * @param seeds label of every seed id
+     * @param initial value of vertices without label
+     * @param tolerance total change of values to stop at
+     * @throws IllegalArgumentException if a seed id is negative
+     */
+    public LabelPropagation(Map<Integer, Double> seeds, double initial, double tolerance) {
+        int size = 0;
+        for (int id : seeds.keySet()) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Negative seed id " + id);
+            }
+            size = Math.max(size, id + 1);
+        }
+        labels = new double[size];
+        for (Map.Entry<Integer, Double> seed : seeds.entrySet()) {
+            seeded.set(seed.getKey());
+            labels[seed.getKey()] = seed.getValue();
+        }
+        this.initial = initial;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public Combiner combiner() {
+        return Combiner.SUM;
+    }
+
+    @Override
+    public double initialValue(CsrGraph<?> graph, int vertex) {
+        return seeded.get(vertex) ? labels[vertex] : initial;
+    }
+
+    @Override
+    public double compute(Superstep step, int vertex, double value, double message) {
+        double label = value;
+        int degree = step.inDegree(vertex);
+        if (step.number() > 0 && degree > 0 && !seeded.get(vertex)) {
+            label = message / degree;
+            step.aggregate(CHANGE, Math.abs(label - value));
+        }
+        step.sendToNeighbors(vertex, label);
+        return label;
+    }
+
+    @Override
+    public boolean usesPredecessors() {
+        return true;
+    }
+
+    @Override
+    public int aggregators() {
+        return 1;
+    }
+
+    @Override
+    public boolean converged(int superstep, double[] aggregated) {
+        return superstep > 0 && aggregated[CHANGE] < tolerance;
+    }
+}
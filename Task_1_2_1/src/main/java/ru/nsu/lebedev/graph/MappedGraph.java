@@ -0,0 +1,465 @@
+package ru.nsu.lebedev.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Read-only graph over a memory-mapped binary snapshot.
+ * The file is little-endian, every section starts at a multiple of 8:
+ * a header, vertex dictionary (`long` offsets and encoded bytes),
+ * open-addressing hash table from vertex bytes to id,
+ * CSR `long` offsets, `int` targets sorted per vertex and `double` weights.
+ * Opening only maps the file, pages are read by the OS when they are touched,
+ * so sections larger than 2 GB are mapped as several buffers.
+ * Modifying methods throw UnsupportedOperationException.
+ *
+ * @param <T> type of graph's vertices
+ */
+public class MappedGraph<T> implements Graph<T> {
+    private static final long MAGIC = 0x47524150_48534E50L;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 96;
+    private static final int SEGMENT_BITS = 30;
+
+    private final Mapping data;
+    private final VertexCodec<T> codec;
+    private final int vertexCount;
+    private final long edgeCount;
+    private final long hashSize;
+    private final long dictionaryOffsets;
+    private final long dictionaryBytes;
+    private final long hashTable;
+    private final long offsets;
+    private final long targets;
+    private final long weights;
+
+    private MappedGraph(Mapping data, VertexCodec<T> codec) {
+        this.data = data;
+        this.codec = codec;
+        vertexCount = (int) data.getLong(16);
+        edgeCount = data.getLong(24);
+        hashSize = data.getLong(32);
+        dictionaryOffsets = data.getLong(40);
+        dictionaryBytes = data.getLong(48);
+        hashTable = data.getLong(56);
+        offsets = data.getLong(64);
+        targets = data.getLong(72);
+        weights = data.getLong(80);
+    }
+
+    /**
+     * Writes a snapshot of any graph.
+     *
+     * @param graph source graph
+     * @param filename file to create or overwrite
+     * @param codec converter of vertices to bytes
+     * @param <T> type of graph's vertices
+     */
+    public static <T> void write(Graph<T> graph, String filename, VertexCodec<T> codec)
+        throws IOException {
+        CsrGraph<T> csr = CsrGraph.of(graph);
+        int n = csr.vertexCount();
+        byte[][] encoded = new byte[n][];
+        long totalBytes = 0;
+        for (int v = 0; v < n; v++) {
+            encoded[v] = codec.encode(csr.valueOf(v));
+            totalBytes += encoded[v].length;
+        }
+        int hashSize = Integer.highestOneBit(Math.max(2, 2 * n) - 1) << 1;
+        int[] table = new int[hashSize];
+        for (int v = 0; v < n; v++) {
+            int slot = (int) (hash(encoded[v]) & (hashSize - 1));
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (hashSize - 1);
+            }
+            table[slot] = v + 1;
+        }
+        long dictionaryOffsets = HEADER_BYTES;
+        long dictionaryBytes = dictionaryOffsets + 8L * (n + 1);
+        long hashTable = align(dictionaryBytes + totalBytes);
+        long offsets = align(hashTable + 4L * hashSize);
+        long targets = offsets + 8L * (n + 1);
+        long weights = align(targets + 4L * csr.edgeCount());
+        long size = weights + 8L * csr.edgeCount();
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             Output out = new Output(channel)) {
+            out.putLong(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(0);
+            out.putLong(n);
+            out.putLong(csr.edgeCount());
+            out.putLong(hashSize);
+            out.putLong(dictionaryOffsets);
+            out.putLong(dictionaryBytes);
+            out.putLong(hashTable);
+            out.putLong(offsets);
+            out.putLong(targets);
+            out.putLong(weights);
+            out.putLong(size);
+            long position = 0;
+            for (int v = 0; v < n; v++) {
+                out.putLong(position);
+                position += encoded[v].length;
+            }
+            out.putLong(position);
+            for (byte[] bytes : encoded) {
+                out.put(bytes);
+            }
+            out.pad();
+            for (int slot : table) {
+                out.putInt(slot);
+            }
+            out.pad();
+            for (int v = 0; v <= n; v++) {
+                out.putLong(v < n ? csr.firstEdge(v) : csr.edgeCount());
+            }
+            for (int edge = 0; edge < csr.edgeCount(); edge++) {
+                out.putInt(csr.target(edge));
+            }
+            out.pad();
+            for (int edge = 0; edge < csr.edgeCount(); edge++) {
+                out.putDouble(csr.weight(edge));
+            }
+        } catch (IOException e) {
+            throw new IOException("Error writing graph snapshot to file: " + filename, e);
+        }
+    }
+
+    /**
+     * Opening a snapshot, nothing except the header is read.
+     *
+     * @param filename file written by write.
+     * @param codec converter of vertices to bytes used for writing
+     * @param <T> type of graph's vertices
+     * @return graph over the mapped file
+     */
+    public static <T> MappedGraph<T> open(String filename, VertexCodec<T> codec)
+        throws IOException {
+        return open(filename, codec, SEGMENT_BITS);
+    }
+
+    /**
+     * Opening with a custom size of mapped buffers, small sizes are useful for tests.
+     */
+    static <T> MappedGraph<T> open(String filename, VertexCodec<T> codec, int segmentBits)
+        throws IOException {
+        Mapping data;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.READ)) {
+            data = new Mapping(channel, segmentBits);
+        } catch (IOException e) {
+            throw new IOException("Error reading graph snapshot from file: " + filename, e);
+        }
+        boolean valid = data.size >= HEADER_BYTES && data.getLong(0) == MAGIC
+                && data.getInt(8) == VERSION && data.getLong(88) == data.size;
+        if (!valid) {
+            throw new IOException("Not a graph snapshot: " + filename);
+        }
+        return new MappedGraph<>(data, codec);
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Dense id of a vertex found through the hash table of the snapshot.
+     *
+     * @param value vertex of graph
+     * @return id or -1 if there is no such vertex
+     */
+    public int idOf(T value) {
+        byte[] bytes = codec.encode(value);
+        long slot = hash(bytes) & (hashSize - 1);
+        while (true) {
+            int id = data.getInt(hashTable + 4 * slot) - 1;
+            if (id < 0) {
+                return -1;
+            }
+            if (Arrays.equals(bytes, vertexBytes(id))) {
+                return id;
+            }
+            slot = (slot + 1) & (hashSize - 1);
+        }
+    }
+
+    /**
+     * Vertex by its id.
+     *
+     * @param id dense id
+     * @return decoded vertex
+     */
+    public T valueOf(int id) {
+        return codec.decode(vertexBytes(id));
+    }
+
+    /**
+     * Index of the first edge of a vertex.
+     *
+     * @param id dense id
+     * @return edge index
+     */
+    public long firstEdge(int id) {
+        return data.getLong(offsets + 8L * id);
+    }
+
+    /**
+     * Index after the last edge of a vertex.
+     *
+     * @param id dense id
+     * @return edge index
+     */
+    public long endEdge(int id) {
+        return data.getLong(offsets + 8L * (id + 1));
+    }
+
+    public int target(long edge) {
+        return data.getInt(targets + 4 * edge);
+    }
+
+    public double weight(long edge) {
+        return data.getDouble(weights + 8 * edge);
+    }
+
+    @Override
+    public Vertex<T> getVertex(T value) {
+        return idOf(value) >= 0 ? new Vertex<>(value) : null;
+    }
+
+    @Override
+    public void addVertex(T value) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    @Override
+    public Vertex<T> removeVertex(T value) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    @Override
+    public Edge<T> getEdge(T a, T b) {
+        int from = idOf(a);
+        int to = idOf(b);
+        if (from < 0 || to < 0) {
+            return null;
+        }
+        long low = firstEdge(from);
+        long high = endEdge(from) - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int target = target(middle);
+            if (target < to) {
+                low = middle + 1;
+            } else if (target > to) {
+                high = middle - 1;
+            } else {
+                return new Edge<>(a, b, weight(middle));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void addEdge(T a, T b, double weight) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    @Override
+    public Edge<T> removeEdge(T a, T b) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    @Override
+    public List<T> getVertices() {
+        List<T> vertices = new ArrayList<>(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            vertices.add(valueOf(v));
+        }
+        return vertices;
+    }
+
+    @Override
+    public List<T> getAdjacentVertices(T vertex) {
+        int id = idOf(vertex);
+        List<T> adjacentVertices = new ArrayList<>();
+        if (id >= 0) {
+            for (long edge = firstEdge(id); edge < endEdge(id); edge++) {
+                adjacentVertices.add(valueOf(target(edge)));
+            }
+        }
+        return adjacentVertices;
+    }
+
+    @Override
+    public void forEachVertex(Consumer<? super T> action) {
+        for (int v = 0; v < vertexCount; v++) {
+            action.accept(valueOf(v));
+        }
+    }
+
+    @Override
+    public void forEachNeighbor(T vertex, ObjDoubleConsumer<? super T> action) {
+        int id = idOf(vertex);
+        if (id >= 0) {
+            for (long edge = firstEdge(id); edge < endEdge(id); edge++) {
+                action.accept(valueOf(target(edge)), weight(edge));
+            }
+        }
+    }
+
+    /**
+     * Visiting outgoing edges by ids, vertices are not decoded.
+     *
+     * @param id dense id
+     * @param action called with the target id and the weight of every edge
+     */
+    public void forEachNeighborId(int id, NeighborIdConsumer action) {
+        for (long edge = firstEdge(id); edge < endEdge(id); edge++) {
+            action.accept(target(edge), weight(edge));
+        }
+    }
+
+    private byte[] vertexBytes(int id) {
+        long start = data.getLong(dictionaryOffsets + 8L * id);
+        long end = data.getLong(dictionaryOffsets + 8L * (id + 1));
+        byte[] bytes = new byte[(int) (end - start)];
+        data.get(dictionaryBytes + start, bytes);
+        return bytes;
+    }
+
+    private static long hash(byte[] bytes) {
+        long h = (Arrays.hashCode(bytes) & 0xFFFFFFFFL) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * File mapped as buffers of 2^bits bytes.
+     * Sections are aligned, so an int or a long never crosses two buffers.
+     */
+    private static final class Mapping {
+        private final ByteBuffer[] segments;
+        private final int bits;
+        private final long mask;
+        private final long size;
+
+        Mapping(FileChannel channel, int bits) throws IOException {
+            this.bits = bits;
+            this.mask = (1L << bits) - 1;
+            this.size = channel.size();
+            segments = new ByteBuffer[(int) ((size + mask) >>> bits)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << bits;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(1L << bits, size - start)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        int getInt(long position) {
+            return segments[(int) (position >>> bits)].getInt((int) (position & mask));
+        }
+
+        long getLong(long position) {
+            return segments[(int) (position >>> bits)].getLong((int) (position & mask));
+        }
+
+        double getDouble(long position) {
+            return segments[(int) (position >>> bits)].getDouble((int) (position & mask));
+        }
+
+        void get(long position, byte[] bytes) {
+            int done = 0;
+            while (done < bytes.length) {
+                long at = position + done;
+                ByteBuffer segment = segments[(int) (at >>> bits)];
+                int offset = (int) (at & mask);
+                int length = Math.min(bytes.length - done, segment.limit() - offset);
+                segment.get(offset, bytes, done, length);
+                done += length;
+            }
+        }
+    }
+
+    /**
+     * Buffered little-endian writer to a channel.
+     */
+    private static final class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 20)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private long written;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int done = 0;
+            while (done < bytes.length) {
+                ensure(1);
+                int length = Math.min(bytes.length - done, buffer.remaining());
+                buffer.put(bytes, done, length);
+                done += length;
+            }
+        }
+
+        void pad() throws IOException {
+            while ((written + buffer.position()) % 8 != 0) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum spanning forest of a CSR graph, edges are treated as undirected.
+ * Kruskal's algorithm sorts edge ids by weight with a parallel merge sort and
+ * joins components with a union-find. Boruvka's algorithm finds the cheapest
+ * edge of every component in parallel and needs at most log(V) rounds.
+ * Besides the snapshot both use only int arrays over vertices and edge ids,
+ * so memory stays linear in the number of edges.
+ */
+public final class MinimumSpanningTree {
+    private static final int SORT_THRESHOLD = 1 << 13;
+    private static final int INSERTION_THRESHOLD = 32;
+    private static final int CHUNK = 1024;
+    private static final int NONE = -1;
+
+    private final int[] edges;
+    private final double totalWeight;
+
+    private MinimumSpanningTree(int[] edges, double totalWeight) {
+        this.edges = edges;
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * Kruskal's algorithm.
+     *
+     * @param graph CSR snapshot
+     * @return minimum spanning forest
+     */
+    public static MinimumSpanningTree kruskal(CsrGraph<?> graph) {
+        int[] ids = new int[graph.edgeCount()];
+        Arrays.setAll(ids, edge -> edge);
+        ForkJoinPool.commonPool().invoke(
+                new MergeSort(graph, ids, new int[ids.length], 0, ids.length));
+        UnionFind sets = new UnionFind(graph.vertexCount());
+        int[] chosen = new int[Math.max(0, graph.vertexCount() - 1)];
+        int size = 0;
+        double weight = 0;
+        for (int i = 0; i < ids.length && sets.count() > 1; i++) {
+            int edge = ids[i];
+            if (sets.union(source(graph, edge), graph.target(edge))) {
+                chosen[size++] = edge;
+                weight += graph.weight(edge);
+            }
+        }
+        return new MinimumSpanningTree(Arrays.copyOf(chosen, size), weight);
+    }
+
+    /**
+     * Parallel Boruvka's algorithm.
+     * Ties are broken by the endpoints of the undirected edge, so both directions
+     * of an edge compare equal and chosen edges never form a cycle.
+     *
+     * @param graph CSR snapshot
+     * @return minimum spanning forest
+     */
+    public static MinimumSpanningTree boruvka(CsrGraph<?> graph) {
+        int n = graph.vertexCount();
+        UnionFind sets = new UnionFind(n);
+        int[] labels = new int[n];
+        Arrays.setAll(labels, v -> v);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        int[] chosen = new int[Math.max(0, n - 1)];
+        int size = 0;
+        double weight = 0;
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        while (true) {
+            for (int v = 0; v < n; v++) {
+                cheapest.set(v, NONE);
+            }
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int end = Math.min(n, (chunk + 1) * CHUNK);
+                for (int v = chunk * CHUNK; v < end; v++) {
+                    int component = labels[v];
+                    for (int edge = graph.firstEdge(v); edge < graph.endEdge(v); edge++) {
+                        int w = graph.target(edge);
+                        if (labels[w] != component) {
+                            offer(graph, cheapest, component, v, edge);
+                            offer(graph, cheapest, labels[w], v, edge);
+                        }
+                    }
+                }
+            });
+            int before = size;
+            for (int component = 0; component < n; component++) {
+                int edge = cheapest.get(component);
+                if (edge != NONE && sets.union(source(graph, edge), graph.target(edge))) {
+                    chosen[size++] = edge;
+                    weight += graph.weight(edge);
+                }
+            }
+            if (size == before) {
+                break;
+            }
+            for (int v = 0; v < n; v++) {
+                labels[v] = sets.find(v);
+            }
+        }
+        return new MinimumSpanningTree(Arrays.copyOf(chosen, size), weight);
+    }
+
+    /**
+     * Edge ids of the forest.
+     *
+     * @return ids of CSR edges, one direction for every chosen undirected edge
+     */
+    public int[] edges() {
+        return edges.clone();
+    }
+
+    public int size() {
+        return edges.length;
+    }
+
+    public double totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Edges of the forest as vertex values.
+     *
+     * @param graph snapshot the forest was built from
+     * @param <T> type of graph's vertices
+     * @return list of edges
+     */
+    public <T> List<Edge<T>> edges(CsrGraph<T> graph) {
+        List<Edge<T>> result = new ArrayList<>(edges.length);
+        for (int edge : edges) {
+            result.add(new Edge<>(graph.valueOf(source(graph, edge)),
+                    graph.valueOf(graph.target(edge)), graph.weight(edge)));
+        }
+        return result;
+    }
+
+    /**
+     * Source of an edge found by binary search over CSR offsets,
+     * so no array of sources is kept.
+     */
+    static int source(CsrGraph<?> graph, int edge) {
+        int low = 0;
+        int high = graph.vertexCount() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (graph.firstEdge(middle) <= edge) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static void offer(CsrGraph<?> graph, AtomicIntegerArray cheapest, int component,
+                              int source, int edge) {
+        while (true) {
+            int current = cheapest.get(component);
+            if (current != NONE && !lighter(graph, source, edge, current)) {
+                return;
+            }
+            if (cheapest.compareAndSet(component, current, edge)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Total order of undirected edges: weight, smaller endpoint, larger endpoint.
+     */
+    private static boolean lighter(CsrGraph<?> graph, int source, int edge, int other) {
+        int compared = Double.compare(graph.weight(edge), graph.weight(other));
+        if (compared != 0) {
+            return compared < 0;
+        }
+        int target = graph.target(edge);
+        int otherSource = source(graph, other);
+        int otherTarget = graph.target(other);
+        compared = Integer.compare(Math.min(source, target), Math.min(otherSource, otherTarget));
+        if (compared != 0) {
+            return compared < 0;
+        }
+        return Math.max(source, target) < Math.max(otherSource, otherTarget);
+    }
+
+    /**
+     * Stable merge sort of edge ids by weight, halves are sorted in parallel.
+     */
+    private static final class MergeSort extends RecursiveAction {
+        private final CsrGraph<?> graph;
+        private final int[] ids;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+
+        MergeSort(CsrGraph<?> graph, int[] ids, int[] buffer, int from, int to) {
+            this.graph = graph;
+            this.ids = ids;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SORT_THRESHOLD) {
+                sort(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MergeSort(graph, ids, buffer, from, middle),
+                    new MergeSort(graph, ids, buffer, middle, to));
+            merge(from, middle, to);
+        }
+
+        private void sort(int low, int high) {
+            if (high - low <= INSERTION_THRESHOLD) {
+                for (int i = low + 1; i < high; i++) {
+                    int id = ids[i];
+                    double key = graph.weight(id);
+                    int j = i - 1;
+                    while (j >= low && graph.weight(ids[j]) > key) {
+                        ids[j + 1] = ids[j];
+                        j--;
+                    }
+                    ids[j + 1] = id;
+                }
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            sort(low, middle);
+            sort(middle, high);
+            merge(low, middle, high);
+        }
+
+        private void merge(int low, int middle, int high) {
+            if (graph.weight(ids[middle - 1]) <= graph.weight(ids[middle])) {
+                return;
+            }
+            System.arraycopy(ids, low, buffer, low, middle - low);
+            int i = low;
+            int j = middle;
+            int k = low;
+            while (i < middle && j < high) {
+                if (graph.weight(ids[j]) < graph.weight(buffer[i])) {
+                    ids[k++] = ids[j++];
+                } else {
+                    ids[k++] = buffer[i++];
+                }
+            }
+            while (i < middle) {
+                ids[k++] = buffer[i++];
+            }
+        }
+    }
+}
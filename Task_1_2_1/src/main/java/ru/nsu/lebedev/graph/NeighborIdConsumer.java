@@ -0,0 +1,15 @@
+package ru.nsu.lebedev.graph;
+
+/**
+ * Interface of a visitor of outgoing edges given by dense ids.
+ */
+@FunctionalInterface
+public interface NeighborIdConsumer {
+    /**
+     * Method called for every outgoing edge.
+     *
+     * @param target id of the adjacent vertex.
+     * @param weight weight of the edge.
+     */
+    void accept(int target, double weight);
+}
@@ -0,0 +1,69 @@
+package ru.nsu.lebedev.graph;
+
+/**
+ * PageRank as a vertex program.
+ * Rank of dangling vertices is spread over all vertices through an aggregator,
+ * the run converges when the total change of ranks drops below the tolerance.
+ */
+public class PageRank implements VertexProgram {
+    private static final int DANGLING = 0;
+    private static final int CHANGE = 1;
+
+    private final double damping;
+    private final double tolerance;
+
+    /**
+     * PageRank with damping factor 0.85 and tolerance 1e-9.
+     */
+    public PageRank() {
+        this(0.85, 1e-9);
+    }
+
+    /**
+     * PageRank with given parameters.
+     *
+     * @param damping probability of following an edge
+     * @param tolerance total change of ranks to stop at
+     */
+    public PageRank(double damping, double tolerance) {
+        this.damping = damping;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public Combiner combiner() {
+        return Combiner.SUM;
+    }
+
+    @Override
+    public double initialValue(CsrGraph<?> graph, int vertex) {
+        return 1.0 / graph.vertexCount();
+    }
+
+    @Override
+    public double compute(Superstep step, int vertex, double value, double message) {
+        int n = step.graph().vertexCount();
+        double rank = value;
+        if (step.number() > 0) {
+            rank = (1 - damping) / n + damping * (message + step.aggregated(DANGLING) / n);
+            step.aggregate(CHANGE, Math.abs(rank - value));
+        }
+        int degree = step.outDegree(vertex);
+        if (degree == 0) {
+            step.aggregate(DANGLING, rank);
+        } else {
+            step.sendToNeighbors(vertex, rank / degree);
+        }
+        return rank;
+    }
+
+    @Override
+    public int aggregators() {
+        return 2;
+    }
+
+    @Override
+    public boolean converged(int superstep, double[] aggregated) {
+        return superstep > 0 && aggregated[CHANGE] < tolerance;
+    }
+}
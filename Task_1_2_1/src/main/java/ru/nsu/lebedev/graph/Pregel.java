@@ -0,0 +1,54 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.stream.IntStream;
+
+/**
+ * Bulk-synchronous runner of vertex programs over a CSR graph.
+ * Vertices of a superstep are computed in parallel chunks on the common ForkJoinPool,
+ * messages become visible in the next superstep only.
+ * The run stops when no messages were sent and every vertex voted to halt,
+ * when the program reports convergence, or after the limit of supersteps.
+ */
+public final class Pregel {
+    private static final int CHUNK = 1024;
+
+    private Pregel() {
+    }
+
+    /**
+     * Runs a vertex program.
+     *
+     * @param graph CSR graph
+     * @param program vertex program
+     * @param maxSupersteps limit of supersteps
+     * @return value of every id after the last superstep
+     */
+    public static double[] run(CsrGraph<?> graph, VertexProgram program, int maxSupersteps) {
+        int n = graph.vertexCount();
+        double[] values = new double[n];
+        for (int v = 0; v < n; v++) {
+            values[v] = program.initialValue(graph, v);
+        }
+        CsrGraph<?> transposed = program.usesPredecessors() ? graph.transpose() : null;
+        Superstep step = new Superstep(graph, transposed, program.combiner(),
+                program.aggregators());
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        for (int superstep = 0; superstep < maxSupersteps; superstep++) {
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int end = Math.min(n, (chunk + 1) * CHUNK);
+                for (int v = chunk * CHUNK; v < end; v++) {
+                    if (step.isActive(v)) {
+                        step.activate(v);
+                        values[v] = program.compute(step, v, values[v], step.message(v));
+                    }
+                }
+            });
+            boolean sent = step.messagesSent();
+            double[] aggregated = step.finish();
+            if (!sent && step.allHalted() || program.converged(superstep, aggregated)) {
+                break;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,328 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Single-source shortest paths over dense ids of a CSR graph.
+ * Distances and predecessors are returned as primitive arrays indexed by id,
+ * unreachable vertices have infinite distance and predecessor -1.
+ */
+public final class ShortestPaths {
+    private static final int CHUNK = 1024;
+
+    private final int source;
+    private final double[] distances;
+    private final int[] predecessors;
+
+    private ShortestPaths(int source, double[] distances, int[] predecessors) {
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Dijkstra's algorithm with an indexed binary heap, runs in one thread.
+     *
+     * @param graph CSR graph with non-negative weights
+     * @param source id of the source vertex
+     * @return shortest paths from the source
+     * @throws IllegalArgumentException if the source is not a vertex or a weight is negative
+     */
+    public static ShortestPaths dijkstra(CsrGraph<?> graph, int source) {
+        check(graph, source);
+        double[] distances = initialDistances(graph.vertexCount(), source);
+        int[] predecessors = initialPredecessors(graph.vertexCount());
+        IndexedHeap heap = new IndexedHeap(graph.vertexCount());
+        heap.offer(source, 0.0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            double distance = distances[u];
+            for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                int v = graph.target(edge);
+                double candidate = distance + graph.weight(edge);
+                if (candidate < distances[v]) {
+                    distances[v] = candidate;
+                    predecessors[v] = u;
+                    heap.offer(v, candidate);
+                }
+            }
+        }
+        return new ShortestPaths(source, distances, predecessors);
+    }
+
+    /**
+     * Delta-stepping with delta = max weight / average out-degree.
+     *
+     * @param graph CSR graph with non-negative weights
+     * @param source id of the source vertex
+     * @return shortest paths from the source
+     * @throws IllegalArgumentException if the source is not a vertex or a weight is negative
+     */
+    public static ShortestPaths deltaStepping(CsrGraph<?> graph, int source) {
+        double maxWeight = 0.0;
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            maxWeight = Math.max(maxWeight, graph.weight(edge));
+        }
+        double degree = Math.max(1.0, (double) graph.edgeCount() / graph.vertexCount());
+        double delta = maxWeight / degree;
+        return deltaStepping(graph, source, delta > 0.0 ? delta : 1.0);
+    }
+
+    /**
+     * Parallel delta-stepping.
+     * Vertices are kept in buckets of width delta, the smallest bucket is settled
+     * by repeated relaxation of light edges (weight <= delta), then heavy edges of
+     * all its vertices are relaxed once. Relaxations of one step are generated in
+     * parallel chunks and applied in parallel partitions by target id,
+     * so every distance and predecessor is written by one thread only.
+     *
+     * @param graph CSR graph with non-negative weights
+     * @param source id of the source vertex
+     * @param delta bucket width
+     * @return shortest paths from the source
+     * @throws IllegalArgumentException if the source is not a vertex,
+     *                                  a weight is negative or delta is not positive
+     */
+    public static ShortestPaths deltaStepping(CsrGraph<?> graph, int source, double delta) {
+        check(graph, source);
+        if (!(delta > 0.0) || Double.isInfinite(delta)) {
+            throw new IllegalArgumentException("Delta must be positive: " + delta);
+        }
+        int n = graph.vertexCount();
+        double[] distances = initialDistances(n, source);
+        int[] predecessors = initialPredecessors(n);
+        DeltaStepping stepping = new DeltaStepping(graph, delta, distances, predecessors);
+        stepping.run(source);
+        return new ShortestPaths(source, distances, predecessors);
+    }
+
+    public int source() {
+        return source;
+    }
+
+    /**
+     * Distances from the source indexed by id.
+     *
+     * @return array of distances, not a copy
+     */
+    public double[] distances() {
+        return distances;
+    }
+
+    /**
+     * Predecessors on the shortest paths indexed by id.
+     *
+     * @return array of predecessors, not a copy
+     */
+    public int[] predecessors() {
+        return predecessors;
+    }
+
+    public double distance(int target) {
+        return distances[target];
+    }
+
+    /**
+     * Shortest path from the source.
+     *
+     * @param target id of the last vertex
+     * @return ids of the path from the source to the target, empty if it is unreachable
+     */
+    public int[] path(int target) {
+        if (distances[target] == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int v = target; v != source; v = predecessors[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = target; length > 0; v = predecessors[v]) {
+            path[--length] = v;
+        }
+        return path;
+    }
+
+    private static void check(CsrGraph<?> graph, int source) {
+        if (source < 0 || source >= graph.vertexCount()) {
+            throw new IllegalArgumentException("No vertex with id " + source);
+        }
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            if (!(graph.weight(edge) >= 0.0)) {
+                throw new IllegalArgumentException("Negative edge weight: " + graph.weight(edge));
+            }
+        }
+    }
+
+    private static double[] initialDistances(int n, int source) {
+        double[] distances = new double[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+        return distances;
+    }
+
+    private static int[] initialPredecessors(int n) {
+        int[] predecessors = new int[n];
+        Arrays.fill(predecessors, -1);
+        return predecessors;
+    }
+
+    /**
+     * State of one delta-stepping run.
+     */
+    private static final class DeltaStepping {
+        private final CsrGraph<?> graph;
+        private final double delta;
+        private final double[] distances;
+        private final int[] predecessors;
+        private final int partitions = ForkJoinPool.getCommonPoolParallelism();
+        private final TreeMap<Long, IntBuffer> buckets = new TreeMap<>();
+        private final int[] frontierStamp;
+        private final long[] settledStamp;
+        private int phase;
+
+        DeltaStepping(CsrGraph<?> graph, double delta, double[] distances, int[] predecessors) {
+            this.graph = graph;
+            this.delta = delta;
+            this.distances = distances;
+            this.predecessors = predecessors;
+            this.frontierStamp = new int[graph.vertexCount()];
+            this.settledStamp = new long[graph.vertexCount()];
+            Arrays.fill(settledStamp, -1L);
+        }
+
+        void run(int source) {
+            bucket(0L).add(source);
+            while (!buckets.isEmpty()) {
+                Map.Entry<Long, IntBuffer> first = buckets.pollFirstEntry();
+                long index = first.getKey();
+                IntBuffer settled = new IntBuffer();
+                IntBuffer current = first.getValue();
+                while (current != null) {
+                    phase++;
+                    IntBuffer frontier = new IntBuffer();
+                    for (int i = 0; i < current.size; i++) {
+                        int v = current.values[i];
+                        if (frontierStamp[v] == phase || bucketOf(distances[v]) != index) {
+                            continue;
+                        }
+                        frontierStamp[v] = phase;
+                        frontier.add(v);
+                        if (settledStamp[v] != index) {
+                            settledStamp[v] = index;
+                            settled.add(v);
+                        }
+                    }
+                    relax(frontier, true);
+                    current = buckets.remove(index);
+                }
+                relax(settled, false);
+            }
+        }
+
+        private void relax(IntBuffer vertices, boolean light) {
+            int chunks = (vertices.size + CHUNK - 1) / CHUNK;
+            if (chunks == 0) {
+                return;
+            }
+            Requests[][] requests = new Requests[chunks][partitions];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                Requests[] out = requests[chunk];
+                int end = Math.min(vertices.size, (chunk + 1) * CHUNK);
+                for (int i = chunk * CHUNK; i < end; i++) {
+                    int u = vertices.values[i];
+                    double distance = distances[u];
+                    for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                        double weight = graph.weight(edge);
+                        if ((weight <= delta) != light) {
+                            continue;
+                        }
+                        int v = graph.target(edge);
+                        double candidate = distance + weight;
+                        if (candidate < distances[v]) {
+                            int partition = v % partitions;
+                            if (out[partition] == null) {
+                                out[partition] = new Requests();
+                            }
+                            out[partition].add(v, u, candidate);
+                        }
+                    }
+                }
+            });
+            IntBuffer[] improved = new IntBuffer[partitions];
+            IntStream.range(0, partitions).parallel().forEach(partition -> {
+                IntBuffer changed = new IntBuffer();
+                for (Requests[] chunkRequests : requests) {
+                    Requests request = chunkRequests[partition];
+                    if (request == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < request.size; i++) {
+                        int v = request.targets[i];
+                        if (request.distances[i] < distances[v]) {
+                            distances[v] = request.distances[i];
+                            predecessors[v] = request.sources[i];
+                            changed.add(v);
+                        }
+                    }
+                }
+                improved[partition] = changed;
+            });
+            for (IntBuffer changed : improved) {
+                for (int i = 0; i < changed.size; i++) {
+                    int v = changed.values[i];
+                    bucket(bucketOf(distances[v])).add(v);
+                }
+            }
+        }
+
+        private long bucketOf(double distance) {
+            return (long) (distance / delta);
+        }
+
+        private IntBuffer bucket(long index) {
+            return buckets.computeIfAbsent(index, key -> new IntBuffer());
+        }
+    }
+
+    /**
+     * Growable int array.
+     */
+    private static final class IntBuffer {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Relaxation requests of one chunk for one partition of targets.
+     */
+    private static final class Requests {
+        private int[] targets = new int[16];
+        private int[] sources = new int[16];
+        private double[] distances = new double[16];
+        private int size;
+
+        void add(int target, int source, double distance) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                sources = Arrays.copyOf(sources, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            targets[size] = target;
+            sources[size] = source;
+            distances[size] = distance;
+            size++;
+        }
+    }
+}
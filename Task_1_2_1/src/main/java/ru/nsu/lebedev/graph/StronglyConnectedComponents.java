@@ -0,0 +1,430 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strongly connected components over dense ids of a CSR graph.
+ * Components are numbered in topological order of the condensation:
+ * every edge goes from a component to the same or a greater one.
+ */
+public final class StronglyConnectedComponents {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 12;
+
+    private final int[] components;
+    private final int count;
+
+    private StronglyConnectedComponents(int[] components, int count) {
+        this.components = components;
+        this.count = count;
+    }
+
+    /**
+     * Iterative Tarjan's algorithm in one thread.
+     *
+     * @param graph CSR graph
+     * @return components of the graph
+     */
+    public static StronglyConnectedComponents of(CsrGraph<?> graph) {
+        State state = new State(graph, null);
+        int[] all = new int[graph.vertexCount()];
+        Arrays.setAll(all, v -> v);
+        tarjan(state, all, 0);
+        int count = state.counter.get();
+        int[] components = state.components;
+        for (int v = 0; v < components.length; v++) {
+            components[v] = count - 1 - components[v];
+        }
+        return new StronglyConnectedComponents(components, count);
+    }
+
+    /**
+     * Parallel forward-backward algorithm with trimming on the common ForkJoinPool.
+     * Vertices without incoming or outgoing edges inside their subgraph are peeled off
+     * as single components, then the component of a pivot is the intersection
+     * of its forward and backward reachable sets, and the three remaining parts
+     * are processed as independent tasks. Small parts fall back to Tarjan's algorithm.
+     *
+     * @param graph CSR graph
+     * @return components of the graph
+     */
+    public static StronglyConnectedComponents parallel(CsrGraph<?> graph) {
+        State state = new State(graph, graph.transpose());
+        int[] all = new int[graph.vertexCount()];
+        Arrays.setAll(all, v -> v);
+        ForkJoinPool.commonPool().invoke(new ForwardBackward(state, all, 0));
+        int count = state.counter.get();
+        int[] components = state.components;
+        int[] order = topologicalOrder(graph, components, count);
+        for (int v = 0; v < components.length; v++) {
+            components[v] = order[components[v]];
+        }
+        return new StronglyConnectedComponents(components, count);
+    }
+
+    /**
+     * Component of every id.
+     *
+     * @return array of component ids, not a copy
+     */
+    public int[] components() {
+        return components;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Vertices grouped by component in topological order of components.
+     *
+     * @param graph the graph the components were computed for
+     * @param <T> type of graph's vertices
+     * @return list of components
+     */
+    public <T> List<List<T>> groups(CsrGraph<T> graph) {
+        List<List<T>> groups = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int v = 0; v < components.length; v++) {
+            groups.get(components[v]).add(graph.valueOf(v));
+        }
+        return groups;
+    }
+
+    /**
+     * Condensation DAG, vertex `c` is component `c` and of parallel edges between
+     * two components the first one by source id is kept.
+     *
+     * @param graph the graph the components were computed for
+     * @return acyclic CSR graph of components
+     */
+    public CsrGraph<Integer> condensation(CsrGraph<?> graph) {
+        List<Integer> values = new ArrayList<>(count);
+        Map<Integer, Integer> ids = new HashMap<>();
+        for (int c = 0; c < count; c++) {
+            values.add(c);
+            ids.put(c, c);
+        }
+        int[] sources = new int[graph.edgeCount()];
+        int[] targets = new int[graph.edgeCount()];
+        double[] weights = new double[graph.edgeCount()];
+        int edges = 0;
+        for (int u = 0; u < graph.vertexCount(); u++) {
+            for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                int target = components[graph.target(edge)];
+                if (components[u] != target) {
+                    sources[edges] = components[u];
+                    targets[edges] = target;
+                    weights[edges] = graph.weight(edge);
+                    edges++;
+                }
+            }
+        }
+        return CsrGraph.fromEdges(values, ids, sources, targets, weights, edges);
+    }
+
+    /**
+     * Kahn's order of components, returns the position of every component.
+     */
+    private static int[] topologicalOrder(CsrGraph<?> graph, int[] components, int count) {
+        int[] offsets = new int[count + 1];
+        for (int u = 0; u < graph.vertexCount(); u++) {
+            for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                if (components[u] != components[graph.target(edge)]) {
+                    offsets[components[u] + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] targets = new int[offsets[count]];
+        int[] inDegree = new int[count];
+        int[] position = Arrays.copyOf(offsets, count);
+        for (int u = 0; u < graph.vertexCount(); u++) {
+            for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                int target = components[graph.target(edge)];
+                if (components[u] != target) {
+                    targets[position[components[u]]++] = target;
+                    inDegree[target]++;
+                }
+            }
+        }
+        int[] queue = new int[count];
+        int tail = 0;
+        for (int c = 0; c < count; c++) {
+            if (inDegree[c] == 0) {
+                queue[tail++] = c;
+            }
+        }
+        int[] order = new int[count];
+        for (int head = 0; head < tail; head++) {
+            int c = queue[head];
+            order[c] = head;
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                if (--inDegree[targets[i]] == 0) {
+                    queue[tail++] = targets[i];
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Iterative Tarjan's algorithm restricted to vertices of one color.
+     * Emitted components get color -1, so later searches skip them.
+     */
+    private static void tarjan(State state, int[] vertices, int color) {
+        CsrGraph<?> graph = state.graph;
+        int[] colors = state.colors;
+        int[] index = state.index;
+        int[] low = state.low;
+        boolean[] onStack = state.onStack;
+        int[] callStack = new int[vertices.length];
+        int[] nextEdge = new int[vertices.length];
+        int[] stack = new int[vertices.length];
+        int stackSize = 0;
+        int next = 0;
+        for (int root : vertices) {
+            if (colors[root] != color || index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callStack[0] = root;
+            nextEdge[0] = graph.firstEdge(root);
+            index[root] = next;
+            low[root] = next++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int v = callStack[depth];
+                int edge = nextEdge[depth];
+                if (edge < graph.endEdge(v)) {
+                    nextEdge[depth]++;
+                    int w = graph.target(edge);
+                    if (colors[w] != color) {
+                        continue;
+                    }
+                    if (index[w] < 0) {
+                        index[w] = next;
+                        low[w] = next++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[++depth] = w;
+                        nextEdge[depth] = graph.firstEdge(w);
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                if (low[v] == index[v]) {
+                    int component = state.counter.getAndIncrement();
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        state.components[w] = component;
+                        colors[w] = -1;
+                    } while (w != v);
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callStack[depth];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Arrays indexed by vertex id shared by all tasks of one run.
+     * Tasks work on disjoint sets of vertices, so they never write the same slot.
+     */
+    private static final class State {
+        private final CsrGraph<?> graph;
+        private final CsrGraph<?> transposed;
+        private final int[] colors;
+        private final int[] components;
+        private final int[] index;
+        private final int[] low;
+        private final boolean[] onStack;
+        private final int[] inDegree;
+        private final int[] outDegree;
+        private final AtomicInteger nextColor = new AtomicInteger(1);
+        private final AtomicInteger counter = new AtomicInteger();
+
+        State(CsrGraph<?> graph, CsrGraph<?> transposed) {
+            int n = graph.vertexCount();
+            this.graph = graph;
+            this.transposed = transposed;
+            colors = new int[n];
+            components = new int[n];
+            index = new int[n];
+            low = new int[n];
+            onStack = new boolean[n];
+            Arrays.fill(index, -1);
+            inDegree = transposed == null ? null : new int[n];
+            outDegree = transposed == null ? null : new int[n];
+        }
+    }
+
+    /**
+     * Forward-backward task over the vertices of one color.
+     * Colors are never reused, so a vertex of another task never has this task's color
+     * even if its latest color is not visible yet.
+     */
+    private static final class ForwardBackward extends RecursiveAction {
+        private final State state;
+        private final int[] vertices;
+        private final int color;
+
+        ForwardBackward(State state, int[] vertices, int color) {
+            this.state = state;
+            this.vertices = vertices;
+            this.color = color;
+        }
+
+        @Override
+        protected void compute() {
+            int[] remaining = trim();
+            if (remaining.length == 0) {
+                return;
+            }
+            if (remaining.length <= SEQUENTIAL_THRESHOLD) {
+                tarjan(state, remaining, color);
+                return;
+            }
+            CsrGraph<?> graph = state.graph;
+            CsrGraph<?> transposed = state.transposed;
+            int[] colors = state.colors;
+            int pivot = remaining[0];
+            int forward = state.nextColor.getAndIncrement();
+            int backward = state.nextColor.getAndIncrement();
+            int[] queue = new int[remaining.length];
+            colors[pivot] = forward;
+            queue[0] = pivot;
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                for (int edge = graph.firstEdge(v); edge < graph.endEdge(v); edge++) {
+                    int w = graph.target(edge);
+                    if (colors[w] == color) {
+                        colors[w] = forward;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            int component = state.counter.getAndIncrement();
+            state.components[pivot] = component;
+            colors[pivot] = -1;
+            queue[0] = pivot;
+            tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                for (int edge = transposed.firstEdge(v); edge < transposed.endEdge(v); edge++) {
+                    int w = transposed.target(edge);
+                    if (colors[w] == forward) {
+                        colors[w] = -1;
+                        state.components[w] = component;
+                        queue[tail++] = w;
+                    } else if (colors[w] == color) {
+                        colors[w] = backward;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            invokeAll(part(remaining, forward), part(remaining, backward),
+                    part(remaining, color));
+        }
+
+        private ForwardBackward part(int[] remaining, int partColor) {
+            int size = 0;
+            for (int v : remaining) {
+                if (state.colors[v] == partColor) {
+                    size++;
+                }
+            }
+            int[] part = new int[size];
+            size = 0;
+            for (int v : remaining) {
+                if (state.colors[v] == partColor) {
+                    part[size++] = v;
+                }
+            }
+            return new ForwardBackward(state, part, partColor);
+        }
+
+        /**
+         * Peels vertices without incoming or outgoing edges inside the color,
+         * every such vertex is a component of its own.
+         *
+         * @return vertices left with this color
+         */
+        private int[] trim() {
+            CsrGraph<?> graph = state.graph;
+            CsrGraph<?> transposed = state.transposed;
+            int[] colors = state.colors;
+            int[] inDegree = state.inDegree;
+            int[] outDegree = state.outDegree;
+            int[] queue = new int[vertices.length];
+            int tail = 0;
+            for (int v : vertices) {
+                int in = 0;
+                for (int edge = transposed.firstEdge(v); edge < transposed.endEdge(v); edge++) {
+                    if (colors[transposed.target(edge)] == color) {
+                        in++;
+                    }
+                }
+                int out = 0;
+                for (int edge = graph.firstEdge(v); edge < graph.endEdge(v); edge++) {
+                    if (colors[graph.target(edge)] == color) {
+                        out++;
+                    }
+                }
+                inDegree[v] = in;
+                outDegree[v] = out;
+            }
+            for (int v : vertices) {
+                if (inDegree[v] == 0 || outDegree[v] == 0) {
+                    queue[tail++] = v;
+                    colors[v] = -2;
+                }
+            }
+            for (int head = 0; head < tail; head++) {
+                int v = queue[head];
+                state.components[v] = state.counter.getAndIncrement();
+                colors[v] = -1;
+                for (int edge = graph.firstEdge(v); edge < graph.endEdge(v); edge++) {
+                    int w = graph.target(edge);
+                    if (colors[w] == color && --inDegree[w] == 0) {
+                        queue[tail++] = w;
+                        colors[w] = -2;
+                    }
+                }
+                for (int edge = transposed.firstEdge(v); edge < transposed.endEdge(v); edge++) {
+                    int u = transposed.target(edge);
+                    if (colors[u] == color && --outDegree[u] == 0) {
+                        queue[tail++] = u;
+                        colors[u] = -2;
+                    }
+                }
+            }
+            int[] remaining = new int[vertices.length - tail];
+            int size = 0;
+            for (int v : vertices) {
+                if (colors[v] == color) {
+                    remaining[size++] = v;
+                }
+            }
+            return remaining;
+        }
+    }
+}
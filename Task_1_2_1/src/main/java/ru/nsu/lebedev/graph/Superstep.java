@@ -0,0 +1,209 @@
+package ru.nsu.lebedev.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Context of the current superstep passed to VertexProgram.compute.
+ * Messages are combined on arrival into a primitive outbox with compare-and-set,
+ * so many vertices may send to one target from different threads.
+ */
+public final class Superstep {
+    private final CsrGraph<?> graph;
+    private final CsrGraph<?> transposed;
+    private final Combiner combiner;
+    private final boolean[] halted;
+    private final DoubleAdder[] sums;
+    private final double[] aggregated;
+    private double[] inbox;
+    private boolean[] inboxFull;
+    private AtomicLongArray outbox;
+    private boolean[] outboxFull;
+    private boolean sent;
+    private int number;
+
+    Superstep(CsrGraph<?> graph, CsrGraph<?> transposed, Combiner combiner, int aggregators) {
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.transposed = transposed;
+        this.combiner = combiner;
+        halted = new boolean[n];
+        sums = new DoubleAdder[aggregators];
+        aggregated = new double[aggregators];
+        for (int i = 0; i < aggregators; i++) {
+            sums[i] = new DoubleAdder();
+        }
+        inbox = new double[n];
+        inboxFull = new boolean[n];
+        outbox = new AtomicLongArray(n);
+        outboxFull = new boolean[n];
+        clearOutbox();
+    }
+
+    public int number() {
+        return number;
+    }
+
+    public CsrGraph<?> graph() {
+        return graph;
+    }
+
+    public int outDegree(int vertex) {
+        return graph.endEdge(vertex) - graph.firstEdge(vertex);
+    }
+
+    /**
+     * Number of incoming edges, available if the program uses predecessors.
+     *
+     * @param vertex id of vertex
+     * @return in-degree
+     */
+    public int inDegree(int vertex) {
+        return predecessors().endEdge(vertex) - predecessors().firstEdge(vertex);
+    }
+
+    /**
+     * Whether the vertex got any message in the previous superstep.
+     *
+     * @param vertex id of vertex
+     * @return true if the inbox is not empty
+     */
+    public boolean hasMessage(int vertex) {
+        return inboxFull[vertex];
+    }
+
+    /**
+     * Sends a message delivered in the next superstep.
+     *
+     * @param target id of the receiver
+     * @param message message
+     */
+    public void send(int target, double message) {
+        while (true) {
+            long old = outbox.get(target);
+            double combined = combiner.combine(Double.longBitsToDouble(old), message);
+            if (outbox.compareAndSet(target, old, Double.doubleToRawLongBits(combined))) {
+                break;
+            }
+        }
+        outboxFull[target] = true;
+        sent = true;
+    }
+
+    /**
+     * Sends a message along every outgoing edge.
+     *
+     * @param vertex id of the sender
+     * @param message message
+     */
+    public void sendToNeighbors(int vertex, double message) {
+        for (int edge = graph.firstEdge(vertex); edge < graph.endEdge(vertex); edge++) {
+            send(graph.target(edge), message);
+        }
+    }
+
+    /**
+     * Sends a message against every incoming edge.
+     *
+     * @param vertex id of the sender
+     * @param message message
+     */
+    public void sendToPredecessors(int vertex, double message) {
+        CsrGraph<?> reversed = predecessors();
+        for (int edge = reversed.firstEdge(vertex); edge < reversed.endEdge(vertex); edge++) {
+            send(reversed.target(edge), message);
+        }
+    }
+
+    /**
+     * Makes the vertex inactive until it gets a message.
+     *
+     * @param vertex id of vertex
+     */
+    public void voteToHalt(int vertex) {
+        halted[vertex] = true;
+    }
+
+    /**
+     * Adds a value to a sum aggregator of this superstep.
+     *
+     * @param aggregator index of the aggregator
+     * @param value addend
+     */
+    public void aggregate(int aggregator, double value) {
+        sums[aggregator].add(value);
+    }
+
+    /**
+     * Sum of an aggregator in the previous superstep.
+     *
+     * @param aggregator index of the aggregator
+     * @return sum, 0 in the first superstep
+     */
+    public double aggregated(int aggregator) {
+        return aggregated[aggregator];
+    }
+
+    boolean isActive(int vertex) {
+        return !halted[vertex] || inboxFull[vertex];
+    }
+
+    double message(int vertex) {
+        return inboxFull[vertex] ? inbox[vertex] : combiner.identity();
+    }
+
+    void activate(int vertex) {
+        halted[vertex] = false;
+    }
+
+    /**
+     * Delivers the outbox and publishes sums of aggregators.
+     *
+     * @return sums of aggregators of the finished superstep
+     */
+    double[] finish() {
+        for (int v = 0; v < inbox.length; v++) {
+            inbox[v] = Double.longBitsToDouble(outbox.get(v));
+        }
+        boolean[] swap = inboxFull;
+        inboxFull = outboxFull;
+        outboxFull = swap;
+        Arrays.fill(outboxFull, false);
+        clearOutbox();
+        for (int i = 0; i < sums.length; i++) {
+            aggregated[i] = sums[i].sumThenReset();
+        }
+        number++;
+        return aggregated.clone();
+    }
+
+    boolean messagesSent() {
+        boolean result = sent;
+        sent = false;
+        return result;
+    }
+
+    boolean allHalted() {
+        for (boolean vertexHalted : halted) {
+            if (!vertexHalted) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CsrGraph<?> predecessors() {
+        if (transposed == null) {
+            throw new IllegalStateException("Program does not use predecessors");
+        }
+        return transposed;
+    }
+
+    private void clearOutbox() {
+        long identity = Double.doubleToRawLongBits(combiner.identity());
+        for (int v = 0; v < outbox.length(); v++) {
+            outbox.set(v, identity);
+        }
+    }
+}
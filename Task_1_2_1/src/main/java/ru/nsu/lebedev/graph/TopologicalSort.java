@@ -1,14 +1,15 @@
 package ru.nsu.lebedev.graph;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Topological sorter.
+ * Works on a CSR snapshot of the graph with dense int ids, the snapshot is taken
+ * through `forEachNeighbor` without copying adjacency lists,
+ * depth-first search uses explicit arrays instead of recursion,
+ * so chains of any length don't overflow the call stack.
  */
 public class TopologicalSort<T> {
 
@@ -17,38 +18,142 @@ public class TopologicalSort<T> {
      *
      * @param graph any type of graph
      * @return list of vertices in topological sort
+     * @throws CycleException if the graph has a cycle
      */
     public List<T> sort(Graph<T> graph) {
-        List<T> sorted = new ArrayList<>();
-        Set<T> visited = new HashSet<>();
-        Deque<T> stack = new ArrayDeque<>();
-        for (T vertex : graph.getVertices()) {
-            if (!visited.contains(vertex)) {
-                dfs(graph, vertex, visited, stack);
+        CsrGraph<T> csr = CsrGraph.of(graph);
+        return values(csr, order(csr));
+    }
+
+    /**
+     * Topological sort of strongly connected components, works on cyclic graphs too.
+     *
+     * @param graph any type of graph
+     * @return list of components, every edge goes to the same or a later component
+     */
+    public List<List<T>> sortComponents(Graph<T> graph) {
+        CsrGraph<T> csr = CsrGraph.of(graph);
+        return StronglyConnectedComponents.of(csr).groups(csr);
+    }
+
+    /**
+     * Kahn's layered topological sort.
+     * Every vertex of a layer has all its predecessors in previous layers,
+     * so vertices of one layer are independent and can be processed in parallel.
+     *
+     * @param graph any type of graph
+     * @return list of layers
+     * @throws CycleException if the graph has a cycle
+     */
+    public List<List<T>> layers(Graph<T> graph) {
+        CsrGraph<T> csr = CsrGraph.of(graph);
+        int n = csr.vertexCount();
+        int[] inDegree = new int[n];
+        for (int edge = 0; edge < csr.edgeCount(); edge++) {
+            inDegree[csr.target(edge)]++;
+        }
+        int[] layer = new int[n];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                layer[size++] = v;
             }
         }
-        while (!stack.isEmpty()) {
-            sorted.add(stack.pop());
+        List<List<T>> layers = new ArrayList<>();
+        int processed = 0;
+        int[] next = new int[n];
+        while (size > 0) {
+            List<T> values = new ArrayList<>(size);
+            int nextSize = 0;
+            for (int i = 0; i < size; i++) {
+                int v = layer[i];
+                values.add(csr.valueOf(v));
+                for (int edge = csr.firstEdge(v); edge < csr.endEdge(v); edge++) {
+                    if (--inDegree[csr.target(edge)] == 0) {
+                        next[nextSize++] = csr.target(edge);
+                    }
+                }
+            }
+            layers.add(values);
+            processed += size;
+            int[] tmp = layer;
+            layer = next;
+            next = tmp;
+            size = nextSize;
+        }
+        if (processed < n) {
+            order(csr);
         }
-        return sorted;
+        return layers;
     }
 
     /**
-     * DFS method for graph.
+     * Iterative DFS topological order of dense ids.
      *
-     * @param graph any type of graph
-     * @param vertex vertex of search
-     * @param visited list of visited vertices
-     * @param stack topological sort stack
+     * @param csr graph snapshot
+     * @return ids in topological order
+     * @throws CycleException if the graph has a cycle
      */
-    private void dfs(Graph<T> graph, T vertex, Set<T> visited, Deque<T> stack) {
-        visited.add(vertex);
-        for (T adjacent : graph.getAdjacentVertices(vertex)) {
-            if (!visited.contains(adjacent)) {
-                dfs(graph, adjacent, visited, stack);
+    static int[] order(CsrGraph<?> csr) {
+        int n = csr.vertexCount();
+        BitSet visited = new BitSet(n);
+        BitSet onStack = new BitSet(n);
+        int[] stack = new int[n];
+        int[] nextEdge = new int[n];
+        int[] order = new int[n];
+        int position = n;
+        for (int root = 0; root < n; root++) {
+            if (visited.get(root)) {
+                continue;
+            }
+            int depth = 0;
+            stack[0] = root;
+            nextEdge[0] = csr.firstEdge(root);
+            visited.set(root);
+            onStack.set(root);
+            while (depth >= 0) {
+                int v = stack[depth];
+                int edge = nextEdge[depth];
+                if (edge < csr.endEdge(v)) {
+                    nextEdge[depth]++;
+                    int w = csr.target(edge);
+                    if (onStack.get(w)) {
+                        throw new CycleException(cycle(csr, stack, depth, w));
+                    }
+                    if (!visited.get(w)) {
+                        visited.set(w);
+                        onStack.set(w);
+                        stack[++depth] = w;
+                        nextEdge[depth] = csr.firstEdge(w);
+                    }
+                } else {
+                    onStack.clear(v);
+                    order[--position] = v;
+                    depth--;
+                }
             }
         }
-        stack.push(vertex);
+        return order;
+    }
+
+    private static List<Object> cycle(CsrGraph<?> csr, int[] stack, int depth, int start) {
+        int from = depth;
+        while (stack[from] != start) {
+            from--;
+        }
+        List<Object> cycle = new ArrayList<>();
+        for (int i = from; i <= depth; i++) {
+            cycle.add(csr.valueOf(stack[i]));
+        }
+        cycle.add(csr.valueOf(start));
+        return cycle;
     }
-}
 
+    private static <T> List<T> values(CsrGraph<T> csr, int[] ids) {
+        List<T> values = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            values.add(csr.valueOf(id));
+        }
+        return values;
+    }
+}
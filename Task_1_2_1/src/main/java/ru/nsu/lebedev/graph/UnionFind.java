@@ -0,0 +1,83 @@
+package ru.nsu.lebedev.graph;
+
+/**
+ * Disjoint sets of dense ids from 0 to size - 1.
+ * Parents and ranks are primitive arrays, union is by rank and find compresses
+ * the whole path, so any sequence of operations takes almost linear time.
+ * Not thread-safe.
+ */
+public final class UnionFind {
+    private final int[] parent;
+    private final byte[] rank;
+    private int count;
+
+    /**
+     * Creates every id as a separate set.
+     *
+     * @param size number of ids
+     */
+    public UnionFind(int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        count = size;
+    }
+
+    public int size() {
+        return parent.length;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Representative of the set.
+     *
+     * @param id element
+     * @return root id of its set
+     */
+    public int find(int id) {
+        int root = id;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[id] != root) {
+            int next = parent[id];
+            parent[id] = root;
+            id = next;
+        }
+        return root;
+    }
+
+    /**
+     * Joins two sets.
+     *
+     * @param a element of the first set
+     * @param b element of the second set
+     * @return false if they were already in one set
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        count--;
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+}
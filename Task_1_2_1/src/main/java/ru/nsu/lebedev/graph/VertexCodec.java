@@ -0,0 +1,24 @@
+package ru.nsu.lebedev.graph;
+
+/**
+ * Interface for converting vertices to bytes for binary graph snapshots.
+ *
+ * @param <T> type of graph's vertices
+ */
+public interface VertexCodec<T> {
+    /**
+     * Method for encoding a vertex, equal vertices must have equal bytes.
+     *
+     * @param value vertex of graph.
+     * @return bytes of the vertex
+     */
+    byte[] encode(T value);
+
+    /**
+     * Method for decoding a vertex.
+     *
+     * @param bytes bytes given by encode.
+     * @return vertex of graph
+     */
+    T decode(byte[] bytes);
+}
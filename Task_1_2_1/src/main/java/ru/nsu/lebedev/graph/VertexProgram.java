@@ -0,0 +1,64 @@
+package ru.nsu.lebedev.graph;
+
+/**
+ * Interface of a vertex-centric program run by Pregel.
+ * Every vertex holds a double value, in each superstep active vertices
+ * compute a new value from the combined messages sent to them in the previous one.
+ */
+public interface VertexProgram {
+    /**
+     * Method for getting combiner of messages.
+     *
+     * @return combiner
+     */
+    Combiner combiner();
+
+    /**
+     * Method for getting value of a vertex before the first superstep.
+     *
+     * @param graph graph of the run.
+     * @param vertex id of vertex.
+     * @return initial value
+     */
+    double initialValue(CsrGraph<?> graph, int vertex);
+
+    /**
+     * Method for computing new value of an active vertex.
+     *
+     * @param step current superstep, used to send messages and vote to halt.
+     * @param vertex id of vertex.
+     * @param value current value.
+     * @param message combined messages, identity of the combiner if there are none.
+     * @return new value
+     */
+    double compute(Superstep step, int vertex, double value, double message);
+
+    /**
+     * Method telling whether messages are sent against edge direction.
+     *
+     * @return true if Superstep.sendToPredecessors is used
+     */
+    default boolean usesPredecessors() {
+        return false;
+    }
+
+    /**
+     * Method for getting number of sum aggregators.
+     *
+     * @return count of aggregators
+     */
+    default int aggregators() {
+        return 0;
+    }
+
+    /**
+     * Method for stopping the run after a superstep.
+     *
+     * @param superstep number of the finished superstep.
+     * @param aggregated sums of aggregators of the finished superstep.
+     * @return true if the values have converged
+     */
+    default boolean converged(int superstep, double[] aggregated) {
+        return false;
+    }
+}
@@ -10,8 +10,8 @@ public interface VertexReader<T> {
     /**
      * Function that reading lines and adding vertices and edges to the graph.
      *
-     * @param graph graph upcasted to Graph class.
+     * @param graph graph or any other sink of vertices and edges.
      * @param line line with information about graph.
      */
-    void readVertex(Graph<T> graph, String line);
+    void readVertex(GraphSink<T> graph, String line);
 }
\ No newline at end of file
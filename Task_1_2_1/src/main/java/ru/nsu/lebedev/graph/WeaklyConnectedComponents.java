@@ -0,0 +1,34 @@
+package ru.nsu.lebedev.graph;
+
+/**
+ * Weakly connected components as a vertex program.
+ * Every vertex ends with the smallest id of its component,
+ * labels are sent in both directions only when they change.
+ */
+public class WeaklyConnectedComponents implements VertexProgram {
+    @Override
+    public Combiner combiner() {
+        return Combiner.MIN;
+    }
+
+    @Override
+    public double initialValue(CsrGraph<?> graph, int vertex) {
+        return vertex;
+    }
+
+    @Override
+    public double compute(Superstep step, int vertex, double value, double message) {
+        double label = Math.min(value, message);
+        if (step.number() == 0 || label < value) {
+            step.sendToNeighbors(vertex, label);
+            step.sendToPredecessors(vertex, label);
+        }
+        step.voteToHalt(vertex);
+        return label;
+    }
+
+    @Override
+    public boolean usesPredecessors() {
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -81,4 +82,17 @@ public class AdjacentListGraphTest {
     void getAdjacentVerticesAdjacentListGraph() throws Exception {
         assertEquals(new ArrayList<>(Arrays.asList("B", "C")), graph.getAdjacentVertices("A"));
     }
+
+    @Test
+    void forEachNeighborAdjacentListGraph() throws Exception {
+        List<String> edges = new ArrayList<>();
+        graph.forEachNeighbor("A", (adjacent, weight) -> edges.add(adjacent + " " + weight));
+        assertEquals(List.of("B 1.0", "C 3.0"), edges);
+        graph.forEachNeighbor("Z", (adjacent, weight) -> edges.add(adjacent));
+        assertEquals(2, edges.size());
+        List<String> vertices = new ArrayList<>();
+        graph.forEachVertex(vertices::add);
+        assertEquals(graph.getVertices().size(), vertices.size());
+        assertEquals(6, vertices.size());
+    }
 }
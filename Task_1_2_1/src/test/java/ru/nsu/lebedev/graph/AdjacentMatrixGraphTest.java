@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -81,4 +82,51 @@ public class AdjacentMatrixGraphTest {
     void getAdjacentVerticesAdjacentMatrixGraph() throws Exception {
         assertEquals(new ArrayList<>(Arrays.asList("B", "C")), graph.getAdjacentVertices("A"));
     }
+
+    @Test
+    void removeVertexKeepsIndicesAdjacentMatrixGraph() throws Exception {
+        graph.addEdge("F", "A", 6.0);
+        graph.removeVertex("A");
+        assertEquals(new ArrayList<>(Arrays.asList("B")), graph.getAdjacentVertices("C"));
+        assertEquals(2.0, graph.getEdge("C", "B").getWeight());
+        assertEquals(new ArrayList<>(Arrays.asList("E")), graph.getAdjacentVertices("F"));
+        assertEquals(new ArrayList<>(Arrays.asList("D")), graph.getAdjacentVertices("E"));
+        assertNull(graph.getEdge("F", "A"));
+        graph.addEdge("A", "D", 8.0);
+        assertEquals(new ArrayList<>(Arrays.asList("D")), graph.getAdjacentVertices("A"));
+        assertEquals(new ArrayList<>(), graph.getAdjacentVertices("Z"));
+    }
+
+    @Test
+    void growAdjacentMatrixGraph() throws Exception {
+        Graph<Integer> large = new AdjacentMatrixGraph<>();
+        for (int i = 0; i < 200; i++) {
+            large.addEdge(i, (i * 7) % 200, i);
+        }
+        for (int i = 0; i < 200; i += 3) {
+            large.removeVertex(i);
+        }
+        for (int i = 0; i < 200; i++) {
+            int to = (i * 7) % 200;
+            if (i % 3 != 0 && to % 3 != 0) {
+                assertEquals((double) i, large.getEdge(i, to).getWeight());
+                assertEquals(new ArrayList<>(Arrays.asList(to)), large.getAdjacentVertices(i));
+            } else {
+                assertNull(large.getEdge(i, to));
+            }
+        }
+    }
+
+    @Test
+    void forEachNeighborAdjacentMatrixGraph() throws Exception {
+        List<String> edges = new ArrayList<>();
+        graph.forEachNeighbor("A", (adjacent, weight) -> edges.add(adjacent + " " + weight));
+        assertEquals(List.of("B 1.0", "C 3.0"), edges);
+        graph.forEachNeighbor("Z", (adjacent, weight) -> edges.add(adjacent));
+        assertEquals(2, edges.size());
+        List<String> vertices = new ArrayList<>();
+        graph.forEachVertex(vertices::add);
+        assertEquals(graph.getVertices().size(), vertices.size());
+        assertEquals(6, vertices.size());
+    }
 }
@@ -0,0 +1,73 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing BreadthFirstSearch class.
+ */
+public class BreadthFirstSearchTest {
+    private Graph<String> graph;
+
+    /**
+     * Function for creating default graph.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        graph = new AdjacentListGraph<>();
+        Graph.readDataForGraphFromFile(graph, "file.txt", new DefaultVertexReader());
+    }
+
+    @Test
+    void hops() {
+        BreadthFirstSearch<String> search = new BreadthFirstSearch<>(graph);
+        assertEquals(Map.of("A", 0, "B", 1, "C", 1), search.hops("A"));
+        assertEquals(Map.of("F", 0, "E", 1, "D", 2), search.hops("F"));
+        assertThrows(IllegalArgumentException.class, () -> search.hops("X"));
+    }
+
+    @Test
+    void parallelMatchesSequentialOnSparseChain() {
+        Graph<Integer> chain = new AdjacentListGraph<>();
+        for (int i = 0; i < 5000; i++) {
+            chain.addEdge(i, i + 1, 1.0);
+        }
+        BreadthFirstSearch<Integer> search = new BreadthFirstSearch<>(chain);
+        int source = search.snapshot().idOf(0);
+        int[] depths = search.depths(source);
+        assertArrayEquals(search.depthsSequential(source), depths);
+        assertEquals(5000, depths[search.snapshot().idOf(5000)]);
+    }
+
+    @Test
+    void parallelMatchesSequentialOnSocialGraph() {
+        CsrGraph<Integer> social = GraphFixtures.rmatGraph(new Random(3), 12, 8);
+        BreadthFirstSearch<Integer> search = new BreadthFirstSearch<>(social);
+        for (int source = 0; source < 20; source++) {
+            assertArrayEquals(search.depthsSequential(source), search.depths(source));
+        }
+    }
+
+    @Test
+    void parallelMatchesSequentialOnDirectedGraph() {
+        Random random = new Random(11);
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        int n = 3000;
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(v);
+        }
+        for (int i = 0; i < 40_000; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n), 1.0);
+        }
+        BreadthFirstSearch<Integer> search = new BreadthFirstSearch<>(builder.build());
+        for (int source = 0; source < n; source += 97) {
+            assertArrayEquals(search.depthsSequential(source), search.depths(source));
+        }
+    }
+}
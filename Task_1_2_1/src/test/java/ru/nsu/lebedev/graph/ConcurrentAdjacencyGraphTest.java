@@ -0,0 +1,108 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing ConcurrentAdjacencyGraph class.
+ */
+public class ConcurrentAdjacencyGraphTest {
+    private ConcurrentAdjacencyGraph<String> graph;
+
+    /**
+     * Function for creating default graph.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        graph = new ConcurrentAdjacencyGraph<>();
+        Graph.readDataForGraphFromFile(graph, "file.txt", new DefaultVertexReader());
+    }
+
+    @Test
+    void getVertexConcurrentAdjacencyGraph() throws Exception {
+        assertEquals(new Vertex<String>("A"), graph.getVertex("A"));
+        assertNull(graph.getVertex("Q"));
+        graph.addVertex("Q");
+        assertEquals(new Vertex<String>("Q"), graph.getVertex("Q"));
+    }
+
+    @Test
+    void removeVertexConcurrentAdjacencyGraph() throws Exception {
+        assertEquals(new Vertex<String>("B"), graph.removeVertex("B"));
+        assertNull(graph.getVertex("B"));
+        assertNull(graph.getEdge("A", "B"));
+        assertEquals(List.of("C"), graph.getAdjacentVertices("A"));
+        assertNull(graph.removeVertex("Z"));
+    }
+
+    @Test
+    void edgesConcurrentAdjacencyGraph() throws Exception {
+        assertEquals(new Edge<>("A", "B", 1.0), graph.getEdge("A", "B"));
+        graph.addEdge("A", "Z", 7.0);
+        assertEquals(7.0, graph.getEdge("A", "Z").getWeight());
+        assertEquals(Arrays.asList("B", "C", "Z"), graph.getAdjacentVertices("A"));
+        assertEquals(new Edge<>("A", "B", 1.0), graph.removeEdge("A", "B"));
+        assertNull(graph.getEdge("A", "B"));
+        assertNull(graph.removeEdge("A", "B"));
+        assertEquals(Arrays.asList("C", "Z"), graph.getAdjacentVertices("A"));
+        assertEquals(new ArrayList<>(), graph.getAdjacentVertices("Q"));
+    }
+
+    @Test
+    void getVerticesConcurrentAdjacencyGraph() throws Exception {
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E", "F"),
+                graph.getVertices().stream().sorted().toList());
+    }
+
+    @Test
+    void concurrentWritersAndSnapshots() throws Exception {
+        Random random = new Random(3);
+        int edges = 200_000;
+        Integer[] from = new Integer[edges];
+        Integer[] to = new Integer[edges];
+        for (int i = 0; i < edges; i++) {
+            from[i] = i;
+            to[i] = random.nextInt(edges);
+        }
+        ConcurrentAdjacencyGraph<Integer> numbers = new ConcurrentAdjacencyGraph<>();
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                CsrGraph<Integer> snapshot = numbers.snapshot();
+                for (int v = 0; v < snapshot.vertexCount(); v++) {
+                    for (int e = snapshot.firstEdge(v); e < snapshot.endEdge(v); e++) {
+                        assertTrue(snapshot.idOf(snapshot.valueOf(snapshot.target(e))) >= 0);
+                    }
+                }
+            }
+        });
+        reader.start();
+        GraphFixtures.insert(numbers, from, to, 8);
+        reader.join();
+        CsrGraph<Integer> snapshot = numbers.snapshot();
+        assertEquals(edges, snapshot.edgeCount());
+        for (int i = 0; i < edges; i += 1000) {
+            assertEquals(List.of(to[i]), numbers.getAdjacentVertices(from[i]));
+        }
+    }
+
+    @Test
+    void forEachNeighborConcurrentAdjacencyGraph() throws Exception {
+        List<String> edges = new ArrayList<>();
+        graph.forEachNeighbor("A", (adjacent, weight) -> edges.add(adjacent + " " + weight));
+        assertEquals(List.of("B 1.0", "C 3.0"), edges);
+        graph.forEachNeighbor("Z", (adjacent, weight) -> edges.add(adjacent));
+        assertEquals(2, edges.size());
+        List<String> vertices = new ArrayList<>();
+        graph.forEachVertex(vertices::add);
+        assertEquals(graph.getVertices().size(), vertices.size());
+        assertEquals(6, vertices.size());
+    }
+}
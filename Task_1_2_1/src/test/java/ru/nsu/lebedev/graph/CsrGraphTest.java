@@ -0,0 +1,132 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing CsrGraph class.
+ */
+public class CsrGraphTest {
+    private CsrGraph<String> graph;
+
+    /**
+     * Function for creating default graph.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        graph = CsrGraph.fromFile("file.txt", new DefaultVertexReader());
+    }
+
+    @Test
+    void getVertexCsrGraph() throws Exception {
+        assertEquals(new Vertex<String>("A"), graph.getVertex("A"));
+        assertNull(graph.getVertex("Q"));
+    }
+
+    @Test
+    void getEdgeCsrGraph() throws Exception {
+        assertEquals(new Edge<>("A", "B", 1.0), graph.getEdge("A", "B"));
+        assertEquals(3.0, graph.getEdge("A", "C").getWeight());
+        assertNull(graph.getEdge("B", "A"));
+        assertNull(graph.getEdge("A", "Z"));
+    }
+
+    @Test
+    void immutableCsrGraph() throws Exception {
+        assertThrows(UnsupportedOperationException.class, () -> graph.addVertex("Q"));
+        assertThrows(UnsupportedOperationException.class, () -> graph.removeVertex("A"));
+        assertThrows(UnsupportedOperationException.class, () -> graph.addEdge("A", "Q", 1.0));
+        assertThrows(UnsupportedOperationException.class, () -> graph.removeEdge("A", "B"));
+    }
+
+    @Test
+    void getVerticesCsrGraph() throws Exception {
+        assertEquals(new ArrayList<>(
+                Arrays.asList("A", "B", "C", "F", "E", "D")), graph.getVertices());
+        assertEquals(6, graph.vertexCount());
+        assertEquals(5, graph.edgeCount());
+    }
+
+    @Test
+    void getAdjacentVerticesCsrGraph() throws Exception {
+        assertEquals(new ArrayList<>(Arrays.asList("B", "C")), graph.getAdjacentVertices("A"));
+        assertEquals(new ArrayList<>(), graph.getAdjacentVertices("Z"));
+    }
+
+    @Test
+    void primitiveIterationCsrGraph() throws Exception {
+        int a = graph.idOf("A");
+        List<String> adjacent = new ArrayList<>();
+        double total = 0;
+        for (int edge = graph.firstEdge(a); edge < graph.endEdge(a); edge++) {
+            adjacent.add(graph.valueOf(graph.target(edge)));
+            total += graph.weight(edge);
+        }
+        assertEquals(Arrays.asList("B", "C"), adjacent);
+        assertEquals(4.0, total);
+        assertEquals(-1, graph.idOf("Z"));
+    }
+
+    @Test
+    void transposeCsrGraph() throws Exception {
+        CsrGraph<String> transposed = graph.transpose();
+        assertEquals(graph.getVertices(), transposed.getVertices());
+        assertEquals(graph.edgeCount(), transposed.edgeCount());
+        assertEquals(new Edge<>("B", "A", 1.0), transposed.getEdge("B", "A"));
+        assertEquals(Arrays.asList("A", "C"), transposed.getAdjacentVertices("B"));
+        assertNull(transposed.getEdge("A", "B"));
+    }
+
+    @Test
+    void snapshotOfGraph() throws Exception {
+        Random random = new Random(1);
+        Graph<Integer> source = new AdjacentListGraph<>();
+        for (int i = 0; i < 1000; i++) {
+            source.addEdge(random.nextInt(100), random.nextInt(100), random.nextDouble());
+        }
+        source.addVertex(1000);
+        CsrGraph<Integer> snapshot = CsrGraph.of(source);
+        assertSame(snapshot, CsrGraph.of(snapshot));
+        assertEquals(source.getVertices(), snapshot.getVertices());
+        for (Integer vertex : source.getVertices()) {
+            List<Integer> expected = new ArrayList<>(source.getAdjacentVertices(vertex));
+            List<Integer> actual = snapshot.getAdjacentVertices(vertex);
+            assertEquals(expected.stream().distinct().count(), actual.size());
+            for (Integer adjacent : actual) {
+                assertEquals(source.getEdge(vertex, adjacent), snapshot.getEdge(vertex, adjacent));
+                assertEquals(source.getEdge(vertex, adjacent).getWeight(),
+                        snapshot.getEdge(vertex, adjacent).getWeight());
+            }
+        }
+    }
+
+    @Test
+    void forEachNeighborCsrGraph() throws Exception {
+        List<String> edges = new ArrayList<>();
+        graph.forEachNeighbor("A", (adjacent, weight) -> edges.add(adjacent + " " + weight));
+        assertEquals(List.of("B 1.0", "C 3.0"), edges);
+        graph.forEachNeighbor("Z", (adjacent, weight) -> edges.add(adjacent));
+        assertEquals(2, edges.size());
+        List<String> vertices = new ArrayList<>();
+        graph.forEachVertex(vertices::add);
+        assertEquals(graph.getVertices().size(), vertices.size());
+        assertEquals(6, vertices.size());
+    }
+
+    @Test
+    void forEachNeighborIdCsrGraph() throws Exception {
+        List<String> edges = new ArrayList<>();
+        graph.forEachNeighborId(graph.idOf("A"), (target, weight) ->
+                edges.add(graph.valueOf(target) + " " + weight));
+        assertEquals(List.of("B 1.0", "C 3.0"), edges);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class for testing EdgeListLoader class.
+ */
+public class EdgeListLoaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadFormats() throws Exception {
+        Path file = directory.resolve("small.txt");
+        Files.writeString(file, "# comment\n3 7 1.5\n\n7\t3  -2.25\r\n10 3\n3 7 9.0\n7 10 1e2");
+        EdgeListLoader loader = new EdgeListLoader();
+        CsrGraph<Integer> graph = loader.load(file.toString());
+        assertEquals(List.of(3, 7, 10), graph.getVertices());
+        assertEquals(4, graph.edgeCount());
+        assertEquals(5, loader.getLoadedEdges());
+        assertEquals(1.5, graph.getEdge(3, 7).getWeight());
+        assertEquals(-2.25, graph.getEdge(7, 3).getWeight());
+        assertEquals(1.0, graph.getEdge(10, 3).getWeight());
+        assertEquals(100.0, graph.getEdge(7, 10).getWeight());
+        assertNull(graph.getEdge(3, 10));
+        assertTrue(loader.getEdgesPerSecond() > 0);
+    }
+
+    @Test
+    void loadEmpty() throws Exception {
+        Path file = directory.resolve("empty.txt");
+        Files.writeString(file, "");
+        CsrGraph<Integer> graph = new EdgeListLoader().load(file.toString());
+        assertEquals(0, graph.vertexCount());
+    }
+
+    @Test
+    void loadHugeLabels() throws Exception {
+        Path file = directory.resolve("huge.txt");
+        Files.writeString(file, "0 2147483000 1.0\n2147483000 5 2.0\n");
+        CsrGraph<Integer> graph = new EdgeListLoader().load(file.toString());
+        assertEquals(List.of(0, 5, 2147483000), graph.getVertices());
+        assertEquals(2, graph.idOf(2147483000));
+        assertEquals(-1, graph.idOf(7));
+        assertEquals(2.0, graph.getEdge(2147483000, 5).getWeight());
+        assertNull(graph.getVertex(1));
+    }
+
+    @Test
+    void loadMalformed() throws Exception {
+        Path file = directory.resolve("bad.txt");
+        Files.writeString(file, "1 2 3.0\nA B 1.0\n");
+        EdgeListLoader loader = new EdgeListLoader();
+        assertThrows(IOException.class, () -> loader.load(file.toString()));
+        Files.writeString(file, "1 2 3.0 4\n");
+        assertThrows(IOException.class, () -> loader.load(file.toString()));
+        String missing = directory.resolve("missing.txt").toString();
+        assertThrows(IOException.class, () -> loader.load(missing));
+    }
+
+    @Test
+    void loadManyChunksMatchesLineReader() throws Exception {
+        Path file = directory.resolve("large.txt");
+        GraphFixtures.writeEdgeList(file, new Random(5), 300_000, 20_000);
+        CsrGraph<Integer> mapped = new EdgeListLoader().load(file.toString());
+        CsrGraph<String> lines = CsrGraph.fromFile(file.toString(), new DefaultVertexReader());
+        assertEquals(lines.vertexCount(), mapped.vertexCount());
+        assertEquals(lines.edgeCount(), mapped.edgeCount());
+        for (String from : lines.getVertices()) {
+            for (String to : lines.getAdjacentVertices(from)) {
+                assertEquals(lines.getEdge(from, to).getWeight(),
+                        mapped.getEdge(Integer.parseInt(from), Integer.parseInt(to)).getWeight());
+            }
+        }
+    }
+}
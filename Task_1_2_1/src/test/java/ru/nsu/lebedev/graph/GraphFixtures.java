@@ -0,0 +1,129 @@
+package ru.nsu.lebedev.graph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generators of large graphs and edge lists shared by tests and JMH benchmarks.
+ */
+public final class GraphFixtures {
+    private GraphFixtures() {
+    }
+
+    /**
+     * Generates a grid where every cell is joined with its four neighbours by roads
+     * in both directions, a road weight is its length from 1 to 10.
+     *
+     * @param random source of randomness
+     * @param side number of cells in a row
+     * @return CSR graph with vertices numbered row by row
+     */
+    public static CsrGraph<Integer> roadGraph(Random random, int side) {
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int cell = 0; cell < side * side; cell++) {
+            builder.addVertex(cell);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int cell = row * side + column;
+                if (column + 1 < side) {
+                    double weight = 1 + random.nextInt(10);
+                    builder.addEdge(cell, cell + 1, weight);
+                    builder.addEdge(cell + 1, cell, weight);
+                }
+                if (row + 1 < side) {
+                    double weight = 1 + random.nextInt(10);
+                    builder.addEdge(cell, cell + side, weight);
+                    builder.addEdge(cell + side, cell, weight);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Generates an R-MAT graph with skewed degrees like in social networks,
+     * every edge is added in both directions.
+     *
+     * @param random source of randomness
+     * @param scale log2 of the vertex count
+     * @param edgeFactor number of generated edges per vertex
+     * @return CSR graph
+     */
+    public static CsrGraph<Integer> rmatGraph(Random random, int scale, int edgeFactor) {
+        int n = 1 << scale;
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(v);
+        }
+        long edges = (long) n * edgeFactor / 2;
+        for (long i = 0; i < edges; i++) {
+            int from = 0;
+            int to = 0;
+            for (int bit = 0; bit < scale; bit++) {
+                double r = random.nextDouble();
+                if (r >= 0.57 && r < 0.76) {
+                    to |= 1 << bit;
+                } else if (r >= 0.76 && r < 0.95) {
+                    from |= 1 << bit;
+                } else if (r >= 0.95) {
+                    from |= 1 << bit;
+                    to |= 1 << bit;
+                }
+            }
+            builder.addEdge(from, to, 1.0);
+            builder.addEdge(to, from, 1.0);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes random edges `from to weight` with integer vertices.
+     *
+     * @param file output file
+     * @param random source of randomness
+     * @param edges number of lines
+     * @param vertices number of vertices
+     */
+    public static void writeEdgeList(Path file, Random random, int edges, int vertices)
+        throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < edges; i++) {
+                writer.write(random.nextInt(vertices) + " " + random.nextInt(vertices) + " "
+                        + random.nextInt(1000) / 10.0 + "\n");
+            }
+        }
+    }
+
+    /**
+     * Inserts edges, thread `t` adds every edge with index `i % threads == t`.
+     *
+     * @param graph graph to fill
+     * @param from sources of edges
+     * @param to targets of edges
+     * @param threads number of writer threads
+     */
+    public static void insert(Graph<Integer> graph, Integer[] from, Integer[] to, int threads)
+        throws InterruptedException {
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            writers.add(new Thread(() -> {
+                for (int i = first; i < from.length; i += threads) {
+                    graph.addEdge(from[i], to[i], 1.0);
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+    }
+}
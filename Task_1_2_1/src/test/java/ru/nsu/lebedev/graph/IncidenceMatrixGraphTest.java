@@ -2,9 +2,11 @@ package ru.nsu.lebedev.graph;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -81,4 +83,57 @@ public class IncidenceMatrixGraphTest {
     void getAdjacentVerticesIncidenceMatrixGraph() throws Exception {
         assertEquals(new ArrayList<>(Arrays.asList("B", "C")), graph.getAdjacentVertices("A"));
     }
+
+    @Test
+    void removeVertexRemovesEdgesIncidenceMatrixGraph() throws Exception {
+        graph.removeVertex("C");
+        assertNull(graph.getEdge("A", "C"));
+        assertNull(graph.getEdge("C", "B"));
+        assertEquals(List.of("B"), graph.getAdjacentVertices("A"));
+        graph.addEdge("C", "A", 2.0);
+        assertEquals(List.of("A"), graph.getAdjacentVertices("C"));
+        assertNull(graph.getEdge("C", "B"));
+    }
+
+    @Test
+    void repeatedEdgeIgnoredIncidenceMatrixGraph() throws Exception {
+        graph.addEdge("A", "B", 9.0);
+        assertEquals(1.0, graph.getEdge("A", "B").getWeight());
+        assertEquals(List.of("B", "C"), graph.getAdjacentVertices("A"));
+        assertEquals(List.of(), graph.getAdjacentVertices("Z"));
+    }
+
+    @Test
+    void compactionKeepsEdgesIncidenceMatrixGraph() throws Exception {
+        Graph<Integer> numbers = new IncidenceMatrixGraph<>();
+        for (int i = 0; i < 1000; i++) {
+            numbers.addEdge(i % 10, i, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(new Edge<>(i % 10, i, i), numbers.removeEdge(i % 10, i));
+        }
+        numbers.removeVertex(3);
+        for (int i = 0; i < 1000; i++) {
+            boolean present = i % 2 == 1 && i % 10 != 3 && i != 3;
+            assertEquals(present, numbers.getEdge(i % 10, i) != null);
+        }
+        List<Integer> adjacent = numbers.getAdjacentVertices(1);
+        assertEquals(100, adjacent.size());
+        for (int i = 0; i + 1 < adjacent.size(); i++) {
+            assertTrue(adjacent.get(i) < adjacent.get(i + 1));
+        }
+    }
+
+    @Test
+    void forEachNeighborIncidenceMatrixGraph() throws Exception {
+        List<String> edges = new ArrayList<>();
+        graph.forEachNeighbor("A", (adjacent, weight) -> edges.add(adjacent + " " + weight));
+        assertEquals(List.of("B 1.0", "C 3.0"), edges);
+        graph.forEachNeighbor("Z", (adjacent, weight) -> edges.add(adjacent));
+        assertEquals(2, edges.size());
+        List<String> vertices = new ArrayList<>();
+        graph.forEachVertex(vertices::add);
+        assertEquals(graph.getVertices().size(), vertices.size());
+        assertEquals(6, vertices.size());
+    }
 }
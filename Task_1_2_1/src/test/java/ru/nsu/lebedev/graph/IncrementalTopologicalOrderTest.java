@@ -0,0 +1,113 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing IncrementalTopologicalOrder class.
+ */
+public class IncrementalTopologicalOrderTest {
+    private IncrementalTopologicalOrder<String> graph;
+
+    /**
+     * Function for creating default graph.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        Graph<String> source = new AdjacentListGraph<>();
+        Graph.readDataForGraphFromFile(source, "file.txt", new DefaultVertexReader());
+        graph = new IncrementalTopologicalOrder<>(source);
+    }
+
+    @Test
+    void initialOrderRespectsEdges() {
+        assertOrdered(graph);
+        for (int p = 0; p < 6; p++) {
+            assertEquals(p, graph.position(graph.vertexAt(p)));
+        }
+        assertTrue(graph.precedes("A", "B"));
+        assertTrue(graph.precedes("F", "D"));
+    }
+
+    @Test
+    void addEdgeMovesAffectedVertices() {
+        graph.addEdge("D", "A", 1.0);
+        graph.addEdge("B", "Q", 1.0);
+        assertTrue(graph.precedes("D", "A"));
+        assertTrue(graph.precedes("E", "C"));
+        assertTrue(graph.precedes("B", "Q"));
+        assertEquals(7, graph.order().size());
+        assertOrdered(graph);
+    }
+
+    @Test
+    void addEdgeRejectsCycle() {
+        CycleException exception = assertThrows(CycleException.class,
+                () -> graph.addEdge("D", "F", 1.0));
+        assertEquals(List.of("D", "F", "E", "D"), exception.getCycle());
+        assertNull(graph.getEdge("D", "F"));
+        assertThrows(CycleException.class, () -> graph.addEdge("A", "A", 1.0));
+        assertOrdered(graph);
+    }
+
+    @Test
+    void removeVertexShiftsPositions() {
+        graph.removeVertex("E");
+        assertEquals(5, graph.order().size());
+        assertThrows(IllegalArgumentException.class, () -> graph.position("E"));
+        for (int p = 0; p < 5; p++) {
+            assertEquals(p, graph.position(graph.vertexAt(p)));
+        }
+        graph.addEdge("D", "F", 1.0);
+        assertTrue(graph.precedes("D", "F"));
+        graph.removeEdge("D", "F");
+        graph.addEdge("F", "D", 1.0);
+        assertTrue(graph.precedes("F", "D"));
+        assertOrdered(graph);
+    }
+
+    @Test
+    void randomInsertionsKeepOrder() {
+        IncrementalTopologicalOrder<Integer> dag =
+                new IncrementalTopologicalOrder<>(new IncidenceMatrixGraph<>());
+        Random random = new Random(46);
+        int vertices = 300;
+        for (int i = 0; i < 3000; i++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            if (from == to) {
+                continue;
+            }
+            try {
+                dag.addEdge(from, to, 1.0);
+                assertTrue(dag.precedes(from, to));
+            } catch (CycleException e) {
+                assertNull(dag.getEdge(from, to));
+                assertTrue(new BreadthFirstSearch<>(dag).hops(to).containsKey(from));
+            }
+            if (i % 500 == 0) {
+                dag.removeVertex(random.nextInt(vertices));
+            }
+        }
+        assertOrdered(dag);
+        assertEquals(new TopologicalSort<Integer>().sort(dag).size(), dag.order().size());
+    }
+
+    private static <T> void assertOrdered(IncrementalTopologicalOrder<T> graph) {
+        List<T> order = graph.order();
+        for (T vertex : order) {
+            for (T adjacent : graph.getAdjacentVertices(vertex)) {
+                assertTrue(graph.position(vertex) < graph.position(adjacent));
+            }
+        }
+        assertFalse(order.isEmpty());
+    }
+}
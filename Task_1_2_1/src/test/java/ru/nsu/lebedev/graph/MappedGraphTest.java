@@ -0,0 +1,113 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Class for testing MappedGraph class.
+ */
+public class MappedGraphTest {
+    @TempDir
+    Path directory;
+    private Graph<String> source;
+    private MappedGraph<String> graph;
+
+    /**
+     * Function for creating default graph and its snapshot.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        source = new AdjacentListGraph<>();
+        Graph.readDataForGraphFromFile(source, "file.txt", new DefaultVertexReader());
+        String file = directory.resolve("file.graph").toString();
+        MappedGraph.write(source, file, new DefaultVertexCodec());
+        graph = MappedGraph.open(file, new DefaultVertexCodec());
+    }
+
+    @Test
+    void getVertexMappedGraph() {
+        assertEquals(new Vertex<>("A"), graph.getVertex("A"));
+        assertNull(graph.getVertex("Q"));
+        assertEquals(6, graph.vertexCount());
+        assertEquals(5, graph.edgeCount());
+    }
+
+    @Test
+    void getEdgeMappedGraph() {
+        assertEquals(new Edge<>("A", "B", 1.0), graph.getEdge("A", "B"));
+        assertEquals(5.0, graph.getEdge("E", "D").getWeight());
+        assertNull(graph.getEdge("B", "A"));
+        assertNull(graph.getEdge("A", "Q"));
+    }
+
+    @Test
+    void getVerticesMappedGraph() {
+        assertEquals(source.getVertices(), graph.getVertices());
+        assertEquals(List.of("B", "C"), graph.getAdjacentVertices("A"));
+        assertEquals(List.of(), graph.getAdjacentVertices("Q"));
+    }
+
+    @Test
+    void readOnlyMappedGraph() {
+        assertThrows(UnsupportedOperationException.class, () -> graph.addVertex("Q"));
+        assertThrows(UnsupportedOperationException.class, () -> graph.removeVertex("A"));
+        assertThrows(UnsupportedOperationException.class, () -> graph.addEdge("A", "Q", 1.0));
+        assertThrows(UnsupportedOperationException.class, () -> graph.removeEdge("A", "B"));
+    }
+
+    @Test
+    void smallSegmentsMatchCsrGraph() throws Exception {
+        Random random = new Random(9);
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        for (int i = 0; i < 5000; i++) {
+            builder.addEdge("vertex" + random.nextInt(700), "v" + random.nextInt(700),
+                    random.nextDouble());
+        }
+        CsrGraph<String> csr = builder.build();
+        String file = directory.resolve("random.graph").toString();
+        MappedGraph.write(csr, file, new DefaultVertexCodec());
+        MappedGraph<String> mapped = MappedGraph.open(file, new DefaultVertexCodec(), 4);
+        assertEquals(csr.getVertices(), mapped.getVertices());
+        for (String vertex : csr.getVertices()) {
+            assertEquals(csr.idOf(vertex), mapped.idOf(vertex));
+            assertEquals(csr.getAdjacentVertices(vertex), mapped.getAdjacentVertices(vertex));
+            for (String adjacent : csr.getAdjacentVertices(vertex)) {
+                assertEquals(csr.getEdge(vertex, adjacent), mapped.getEdge(vertex, adjacent));
+            }
+        }
+    }
+
+    @Test
+    void openRejectsOtherFiles() throws Exception {
+        Path text = directory.resolve("text.graph");
+        Files.writeString(text, "A B 1.0\n");
+        String file = text.toString();
+        assertThrows(IOException.class, () -> MappedGraph.open(file, new DefaultVertexCodec()));
+        String missing = directory.resolve("missing.graph").toString();
+        assertThrows(IOException.class, () -> MappedGraph.open(missing, new DefaultVertexCodec()));
+    }
+
+    @Test
+    void forEachNeighborMappedGraph() {
+        List<String> edges = new ArrayList<>();
+        graph.forEachNeighbor("A", (adjacent, weight) -> edges.add(adjacent + " " + weight));
+        graph.forEachNeighborId(graph.idOf("E"), (target, weight) ->
+                edges.add(graph.valueOf(target) + " " + weight));
+        edges.sort(null);
+        assertEquals(List.of("B 1.0", "C 3.0", "D 5.0"), edges);
+        List<String> vertices = new ArrayList<>();
+        graph.forEachVertex(vertices::add);
+        assertEquals(6, vertices.size());
+    }
+}
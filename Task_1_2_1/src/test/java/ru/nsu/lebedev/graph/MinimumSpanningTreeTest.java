@@ -0,0 +1,81 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing MinimumSpanningTree class.
+ */
+public class MinimumSpanningTreeTest {
+    @Test
+    void spanningForestOfFileGraph() throws Exception {
+        CsrGraph<String> graph = CsrGraph.fromFile("file.txt", new DefaultVertexReader());
+        for (MinimumSpanningTree tree : List.of(MinimumSpanningTree.kruskal(graph),
+                MinimumSpanningTree.boruvka(graph))) {
+            assertEquals(4, tree.size());
+            assertEquals(12.0, tree.totalWeight());
+            double weight = 0;
+            for (Edge<String> edge : tree.edges(graph)) {
+                weight += edge.getWeight();
+            }
+            assertEquals(12.0, weight);
+        }
+    }
+
+    @Test
+    void cheapestCycleEdgeIsSkipped() {
+        Graph<String> graph = new AdjacentListGraph<>();
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 2.0);
+        graph.addEdge("C", "A", 3.0);
+        graph.addEdge("C", "D", 3.0);
+        graph.addEdge("D", "C", 3.0);
+        CsrGraph<String> csr = CsrGraph.of(graph);
+        MinimumSpanningTree tree = MinimumSpanningTree.boruvka(csr);
+        assertEquals(3, tree.size());
+        assertEquals(6.0, tree.totalWeight());
+        assertTrue(tree.edges(csr).stream().noneMatch(edge -> edge.getWeight() == 3.0
+                && edge.getTo().equals("A")));
+        assertEquals(6.0, MinimumSpanningTree.kruskal(csr).totalWeight());
+    }
+
+    @Test
+    void algorithmsAgreeOnRandomGraphs() {
+        Random random = new Random(47);
+        for (int round = 0; round < 20; round++) {
+            CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+            int vertices = 50 + random.nextInt(2000);
+            for (int v = 0; v < vertices; v++) {
+                builder.addVertex(v);
+            }
+            for (int i = 0; i < vertices * 2; i++) {
+                double weight = 1 + random.nextInt(round % 2 == 0 ? 3 : 1000);
+                builder.addEdge(random.nextInt(vertices), random.nextInt(vertices), weight);
+            }
+            CsrGraph<Integer> graph = builder.build();
+            MinimumSpanningTree kruskal = MinimumSpanningTree.kruskal(graph);
+            MinimumSpanningTree boruvka = MinimumSpanningTree.boruvka(graph);
+            assertEquals(kruskal.totalWeight(), boruvka.totalWeight(), 1e-9);
+            assertEquals(kruskal.size(), boruvka.size());
+            UnionFind sets = new UnionFind(vertices);
+            for (int v = 0; v < vertices; v++) {
+                for (int edge = graph.firstEdge(v); edge < graph.endEdge(v); edge++) {
+                    sets.union(v, graph.target(edge));
+                }
+            }
+            assertEquals(vertices - sets.count(), kruskal.size());
+        }
+    }
+
+    @Test
+    void largeGridIsSorted() {
+        CsrGraph<Integer> graph = GraphFixtures.roadGraph(new Random(1), 200);
+        MinimumSpanningTree kruskal = MinimumSpanningTree.kruskal(graph);
+        assertEquals(200 * 200 - 1, kruskal.size());
+        assertEquals(kruskal.totalWeight(), MinimumSpanningTree.boruvka(graph).totalWeight());
+    }
+}
@@ -0,0 +1,131 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing Pregel class and built-in vertex programs.
+ */
+public class PregelTest {
+    private CsrGraph<String> graph;
+
+    /**
+     * Function for creating default graph.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        graph = CsrGraph.fromFile("file.txt", new DefaultVertexReader());
+    }
+
+    @Test
+    void weaklyConnectedComponents() {
+        double[] labels = Pregel.run(graph, new WeaklyConnectedComponents(), 100);
+        double abc = labels[graph.idOf("A")];
+        assertEquals(abc, labels[graph.idOf("B")]);
+        assertEquals(abc, labels[graph.idOf("C")]);
+        double def = labels[graph.idOf("D")];
+        assertEquals(def, labels[graph.idOf("E")]);
+        assertEquals(def, labels[graph.idOf("F")]);
+        assertEquals(2, Arrays.stream(labels).distinct().count());
+    }
+
+    @Test
+    void pageRankMatchesPowerIteration() {
+        Random random = new Random(17);
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        int n = 3000;
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(v);
+        }
+        for (int i = 0; i < 12_000; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n / 2), 1.0);
+        }
+        CsrGraph<Integer> csr = builder.build();
+        double[] ranks = Pregel.run(csr, new PageRank(), 200);
+        assertEquals(1.0, Arrays.stream(ranks).sum(), 1e-9);
+        double[] expected = powerIteration(csr, 0.85, 200);
+        for (int v = 0; v < n; v++) {
+            assertEquals(expected[v], ranks[v], 1e-9);
+        }
+    }
+
+    @Test
+    void labelPropagationOnPath() {
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int v = 0; v < 5; v++) {
+            builder.addEdge(v, v + 1, 1.0);
+            builder.addEdge(v + 1, v, 1.0);
+        }
+        CsrGraph<Integer> path = builder.build();
+        LabelPropagation program = new LabelPropagation(Map.of(0, 0.0, 5, 1.0), 0.5, 1e-12);
+        double[] labels = Pregel.run(path, program, 10_000);
+        for (int v = 0; v <= 5; v++) {
+            assertEquals(v / 5.0, labels[path.idOf(v)], 1e-9);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new LabelPropagation(Map.of(-1, 0.0), 0.5, 1e-12));
+    }
+
+    @Test
+    void superstepLimit() {
+        VertexProgram counter = new VertexProgram() {
+            @Override
+            public Combiner combiner() {
+                return Combiner.MAX;
+            }
+
+            @Override
+            public double initialValue(CsrGraph<?> graph, int vertex) {
+                return 0;
+            }
+
+            @Override
+            public double compute(Superstep step, int vertex, double value, double message) {
+                return value + 1;
+            }
+        };
+        double[] values = Pregel.run(graph, counter, 7);
+        assertEquals(7.0, values[0]);
+    }
+
+    @Test
+    void predecessorsRequireFlag() {
+        VertexProgram program = new WeaklyConnectedComponents() {
+            @Override
+            public boolean usesPredecessors() {
+                return false;
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> Pregel.run(graph, program, 3));
+    }
+
+    private static double[] powerIteration(CsrGraph<?> csr, double damping, int rounds) {
+        int n = csr.vertexCount();
+        double[] ranks = new double[n];
+        Arrays.fill(ranks, 1.0 / n);
+        for (int round = 0; round < rounds; round++) {
+            double[] next = new double[n];
+            double dangling = 0;
+            for (int u = 0; u < n; u++) {
+                int degree = csr.endEdge(u) - csr.firstEdge(u);
+                if (degree == 0) {
+                    dangling += ranks[u];
+                }
+                for (int edge = csr.firstEdge(u); edge < csr.endEdge(u); edge++) {
+                    next[csr.target(edge)] += ranks[u] / degree;
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                next[v] = (1 - damping) / n + damping * (next[v] + dangling / n);
+            }
+            ranks = next;
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing ShortestPaths class.
+ */
+public class ShortestPathsTest {
+    private CsrGraph<String> graph;
+
+    /**
+     * Function for creating default graph.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        Graph<String> list = new AdjacentListGraph<>();
+        Graph.readDataForGraphFromFile(list, "file.txt", new DefaultVertexReader());
+        graph = CsrGraph.of(list);
+    }
+
+    @Test
+    void dijkstraDistances() {
+        ShortestPaths paths = ShortestPaths.dijkstra(graph, graph.idOf("A"));
+        assertEquals(0.0, paths.distance(graph.idOf("A")));
+        assertEquals(1.0, paths.distance(graph.idOf("B")));
+        assertEquals(3.0, paths.distance(graph.idOf("C")));
+        assertEquals(Double.POSITIVE_INFINITY, paths.distance(graph.idOf("D")));
+        assertEquals(-1, paths.predecessors()[graph.idOf("D")]);
+    }
+
+    @Test
+    void path() {
+        ShortestPaths paths = ShortestPaths.dijkstra(graph, graph.idOf("F"));
+        int[] expected = {graph.idOf("F"), graph.idOf("E"), graph.idOf("D")};
+        assertArrayEquals(expected, paths.path(graph.idOf("D")));
+        assertEquals(9.0, paths.distance(graph.idOf("D")));
+        assertEquals(0, paths.path(graph.idOf("A")).length);
+    }
+
+    @Test
+    void deltaSteppingMatchesDijkstraOnGrid() {
+        CsrGraph<Integer> grid = GraphFixtures.roadGraph(new Random(1), 60);
+        ShortestPaths dijkstra = ShortestPaths.dijkstra(grid, 0);
+        ShortestPaths stepping = ShortestPaths.deltaStepping(grid, 0);
+        assertArrayEquals(dijkstra.distances(), stepping.distances());
+        assertPredecessorsConsistent(grid, stepping);
+    }
+
+    @Test
+    void deltaSteppingMatchesBellmanFord() {
+        Random random = new Random(7);
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        int n = 300;
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(v);
+        }
+        for (int i = 0; i < 1500; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(20) * 0.5);
+        }
+        CsrGraph<Integer> random300 = builder.build();
+        double[] expected = bellmanFord(random300, 0);
+        for (double delta : new double[] {0.25, 1.0, 3.0, 100.0}) {
+            ShortestPaths stepping = ShortestPaths.deltaStepping(random300, 0, delta);
+            assertArrayEquals(expected, stepping.distances());
+            assertPredecessorsConsistent(random300, stepping);
+        }
+        assertArrayEquals(expected, ShortestPaths.dijkstra(random300, 0).distances());
+    }
+
+    @Test
+    void rejectsBadArguments() {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        builder.addEdge("A", "B", -1.0);
+        CsrGraph<String> negative = builder.build();
+        assertThrows(IllegalArgumentException.class, () -> ShortestPaths.dijkstra(negative, 0));
+        assertThrows(IllegalArgumentException.class, () -> ShortestPaths.dijkstra(graph, 6));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShortestPaths.deltaStepping(graph, 0, 0.0));
+    }
+
+    private static double[] bellmanFord(CsrGraph<?> graph, int source) {
+        double[] distances = new double[graph.vertexCount()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+        for (int round = 0; round < graph.vertexCount(); round++) {
+            for (int u = 0; u < graph.vertexCount(); u++) {
+                for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                    int v = graph.target(edge);
+                    distances[v] = Math.min(distances[v], distances[u] + graph.weight(edge));
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static void assertPredecessorsConsistent(CsrGraph<?> graph, ShortestPaths paths) {
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            int[] path = paths.path(v);
+            if (path.length == 0) {
+                continue;
+            }
+            assertEquals(paths.source(), path[0]);
+            double length = 0.0;
+            for (int i = 0; i + 1 < path.length; i++) {
+                double best = Double.POSITIVE_INFINITY;
+                for (int edge = graph.firstEdge(path[i]); edge < graph.endEdge(path[i]); edge++) {
+                    if (graph.target(edge) == path[i + 1]) {
+                        best = Math.min(best, graph.weight(edge));
+                    }
+                }
+                length += best;
+            }
+            assertEquals(paths.distance(v), length);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing StronglyConnectedComponents class.
+ */
+public class StronglyConnectedComponentsTest {
+    private Graph<String> graph;
+
+    /**
+     * Function for creating default graph.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        graph = new AdjacentListGraph<>();
+        Graph.readDataForGraphFromFile(graph, "file.txt", new DefaultVertexReader());
+    }
+
+    @Test
+    void acyclicGraphHasSingleVertexComponents() {
+        CsrGraph<String> csr = CsrGraph.of(graph);
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(csr);
+        assertEquals(6, components.count());
+        assertTopological(csr, components);
+    }
+
+    @Test
+    void cycleIsOneComponent() {
+        graph.addEdge("B", "A", 1.0);
+        CsrGraph<String> csr = CsrGraph.of(graph);
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(csr);
+        assertEquals(4, components.count());
+        int[] ids = components.components();
+        assertEquals(ids[csr.idOf("A")], ids[csr.idOf("B")]);
+        assertEquals(ids[csr.idOf("A")], ids[csr.idOf("C")]);
+        CsrGraph<Integer> condensation = components.condensation(csr);
+        assertEquals(4, condensation.vertexCount());
+        assertEquals(2, condensation.edgeCount());
+        List<List<String>> groups = components.groups(csr);
+        assertEquals(List.of("A", "B", "C"), groups.get(ids[csr.idOf("A")]));
+        assertTrue(ids[csr.idOf("F")] < ids[csr.idOf("E")]);
+        assertTrue(ids[csr.idOf("E")] < ids[csr.idOf("D")]);
+    }
+
+    @Test
+    void longCycle() {
+        Graph<Integer> cycle = new AdjacentListGraph<>();
+        int length = 200_000;
+        for (int i = 0; i < length; i++) {
+            cycle.addEdge(i, (i + 1) % length, 1.0);
+        }
+        CsrGraph<Integer> csr = CsrGraph.of(cycle);
+        assertEquals(1, StronglyConnectedComponents.of(csr).count());
+        assertEquals(1, StronglyConnectedComponents.parallel(csr).count());
+    }
+
+    @Test
+    void parallelMatchesTarjan() {
+        Random random = new Random(13);
+        for (int n : new int[] {50, 20_000}) {
+            CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+            for (int v = 0; v < n; v++) {
+                builder.addVertex(v);
+            }
+            for (int i = 0; i < n * 3 / 2; i++) {
+                builder.addEdge(random.nextInt(n), random.nextInt(n), 1.0);
+            }
+            for (int i = 0; i < n / 2; i++) {
+                builder.addEdge(i, (i + 7) % (n / 2), 1.0);
+            }
+            CsrGraph<Integer> csr = builder.build();
+            StronglyConnectedComponents sequential = StronglyConnectedComponents.of(csr);
+            StronglyConnectedComponents parallel = StronglyConnectedComponents.parallel(csr);
+            assertEquals(sequential.count(), parallel.count());
+            assertSamePartition(sequential.components(), parallel.components());
+            assertTopological(csr, sequential);
+            assertTopological(csr, parallel);
+            CsrGraph<Integer> condensation = sequential.condensation(csr);
+            assertEquals(sequential.count(), TopologicalSort.order(condensation).length);
+        }
+    }
+
+    private static void assertTopological(CsrGraph<?> csr, StronglyConnectedComponents scc) {
+        int[] ids = scc.components();
+        for (int u = 0; u < csr.vertexCount(); u++) {
+            for (int edge = csr.firstEdge(u); edge < csr.endEdge(u); edge++) {
+                assertTrue(ids[u] <= ids[csr.target(edge)]);
+            }
+        }
+    }
+
+    private static void assertSamePartition(int[] expected, int[] actual) {
+        Map<Integer, Integer> mapping = new HashMap<>();
+        for (int v = 0; v < expected.length; v++) {
+            mapping.putIfAbsent(expected[v], actual[v]);
+            assertEquals(mapping.get(expected[v]), actual[v]);
+        }
+        assertEquals(mapping.size(), Arrays.stream(actual).distinct().count());
+    }
+}
@@ -0,0 +1,102 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing TopologicalSort class.
+ */
+public class TopologicalSortTest {
+    private Graph<String> graph;
+    private TopologicalSort<String> topSort;
+
+    /**
+     * Function for creating default graph.
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        graph = new AdjacentListGraph<>();
+        Graph.readDataForGraphFromFile(graph, "file.txt", new DefaultVertexReader());
+        topSort = new TopologicalSort<>();
+    }
+
+    @Test
+    void sortRespectsEdges() {
+        List<String> sorted = topSort.sort(graph);
+        assertEquals(6, sorted.size());
+        assertOrdered(graph, sorted);
+    }
+
+    @Test
+    void sortLongChain() {
+        Graph<Integer> chain = new AdjacentListGraph<>();
+        int length = 200_000;
+        for (int i = length - 1; i > 0; i--) {
+            chain.addEdge(i - 1, i, 1.0);
+        }
+        List<Integer> sorted = new TopologicalSort<Integer>().sort(chain);
+        for (int i = 0; i < length; i++) {
+            assertEquals(i, sorted.get(i));
+        }
+    }
+
+    @Test
+    void sortReportsCycle() {
+        graph.addEdge("D", "F", 1.0);
+        CycleException exception = assertThrows(CycleException.class, () -> topSort.sort(graph));
+        List<?> cycle = exception.getCycle();
+        assertEquals(cycle.get(0), cycle.get(cycle.size() - 1));
+        assertEquals(4, cycle.size());
+        for (int i = 0; i + 1 < cycle.size(); i++) {
+            assertTrue(graph.getEdge((String) cycle.get(i), (String) cycle.get(i + 1)) != null);
+        }
+    }
+
+    @Test
+    void sortComponentsOfCyclicGraph() {
+        graph.addEdge("B", "A", 1.0);
+        graph.addEdge("D", "F", 1.0);
+        List<List<String>> components = topSort.sortComponents(graph);
+        assertEquals(2, components.size());
+        List<String> first = components.get(0).stream().sorted().toList();
+        List<String> second = components.get(1).stream().sorted().toList();
+        assertTrue(first.contains("A") != second.contains("A"));
+        assertEquals(Arrays.asList("A", "B", "C"), first.contains("A") ? first : second);
+        assertEquals(Arrays.asList("D", "E", "F"), first.contains("A") ? second : first);
+    }
+
+    @Test
+    void layersAreIndependent() {
+        List<List<String>> layers = topSort.layers(graph);
+        assertEquals(3, layers.size());
+        assertEquals(Arrays.asList("A", "F"), layers.get(0).stream().sorted().toList());
+        assertEquals(Arrays.asList("C", "E"), layers.get(1).stream().sorted().toList());
+        assertEquals(Arrays.asList("B", "D"), layers.get(2).stream().sorted().toList());
+    }
+
+    @Test
+    void layersReportCycle() {
+        graph.addEdge("B", "A", 1.0);
+        assertThrows(CycleException.class, () -> topSort.layers(graph));
+    }
+
+    private static <T> void assertOrdered(Graph<T> graph, List<T> sorted) {
+        Map<T, Integer> position = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            position.put(sorted.get(i), i);
+        }
+        for (T vertex : graph.getVertices()) {
+            for (T adjacent : graph.getAdjacentVertices(vertex)) {
+                assertTrue(position.get(vertex) < position.get(adjacent));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.nsu.lebedev.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing UnionFind class.
+ */
+public class UnionFindTest {
+    @Test
+    void unionJoinsSets() {
+        UnionFind sets = new UnionFind(6);
+        assertEquals(6, sets.count());
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(2, 3));
+        assertTrue(sets.union(1, 3));
+        assertFalse(sets.union(0, 2));
+        assertEquals(3, sets.count());
+        assertTrue(sets.connected(0, 3));
+        assertFalse(sets.connected(0, 4));
+        assertEquals(sets.find(0), sets.find(2));
+    }
+
+    @Test
+    void longChainIsCompressed() {
+        int size = 1_000_000;
+        UnionFind sets = new UnionFind(size);
+        for (int i = 1; i < size; i++) {
+            sets.union(i - 1, i);
+        }
+        assertEquals(1, sets.count());
+        int root = sets.find(size - 1);
+        for (int i = 0; i < size; i++) {
+            assertEquals(root, sets.find(i));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ru.nsu.lebedev.hashtable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks of put, get and remove over all keys of Integer or String type
+ * in both probing modes, java.util.HashMap is measured on the same keys for reference.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class HashTableBenchmark {
+    @Param({"Integer", "String"})
+    private String keyType;
+
+    @Param({"LINEAR", "ROBIN_HOOD"})
+    private ProbingMode mode;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Object[] keys;
+    private HashTable<Object, Integer> table;
+    private Map<Object, Integer> map;
+
+    /**
+     * Generates the keys and fills the tables with them.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        keys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            int number = random.nextInt();
+            keys[i] = keyType.equals("Integer") ? number : Integer.toHexString(number) + "-" + i;
+        }
+        table = new HashTable<>(mode);
+        map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            table.put(keys[i], i);
+            map.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public HashTable<Object, Integer> put() {
+        HashTable<Object, Integer> filled = new HashTable<>(mode);
+        for (int i = 0; i < keys.length; i++) {
+            filled.put(keys[i], i);
+        }
+        return filled;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (Object key : keys) {
+            blackhole.consume(table.get(key));
+        }
+    }
+
+    /**
+     * Removes every key and puts it back, so the table stays full.
+     */
+    @Benchmark
+    public void removeAndPut() {
+        for (int i = 0; i < keys.length; i++) {
+            table.put(keys[i], table.remove(keys[i]));
+        }
+    }
+
+    @Benchmark
+    public Map<Object, Integer> hashMapPut() {
+        Map<Object, Integer> filled = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            filled.put(keys[i], i);
+        }
+        return filled;
+    }
+
+    @Benchmark
+    public void hashMapGet(Blackhole blackhole) {
+        for (Object key : keys) {
+            blackhole.consume(map.get(key));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ru.nsu.lebedev.hashtable;
+
+import java.lang.ref.Reference;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of filling primitive hashtables and HashTable with boxed keys
+ * with the same entries. Bytes allocated per fill, boxes and grown arrays included,
+ * are gc.alloc.rate.norm of the GC profiler. The retained benchmark reports the heap
+ * each filled table holds after garbage collection, in bytes per entry.
+ * Run with ./gradlew jmh, allocation rates come from the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class PrimitiveHashTableBenchmark {
+    private static final Object VALUE = new Object();
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private int[] intKeys;
+    private long[] longKeys;
+
+    /**
+     * Generates the keys.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        intKeys = new int[size];
+        longKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            intKeys[i] = random.nextInt();
+            longKeys[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public HashTable<Integer, Integer> boxedIntInt() {
+        HashTable<Integer, Integer> table = new HashTable<>();
+        for (int i = 0; i < size; i++) {
+            table.put(intKeys[i], i);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public IntIntHashTable intInt() {
+        IntIntHashTable table = new IntIntHashTable();
+        for (int i = 0; i < size; i++) {
+            table.put(intKeys[i], i);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public HashTable<Long, Long> boxedLongLong() {
+        HashTable<Long, Long> table = new HashTable<>();
+        for (int i = 0; i < size; i++) {
+            table.put(longKeys[i], (long) i);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public LongLongHashTable longLong() {
+        LongLongHashTable table = new LongLongHashTable();
+        for (int i = 0; i < size; i++) {
+            table.put(longKeys[i], i);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public HashTable<Long, Object> boxedLongObj() {
+        HashTable<Long, Object> table = new HashTable<>();
+        for (int i = 0; i < size; i++) {
+            table.put(longKeys[i], VALUE);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public LongObjHashTable<Object> longObj() {
+        LongObjHashTable<Object> table = new LongObjHashTable<>();
+        for (int i = 0; i < size; i++) {
+            table.put(longKeys[i], VALUE);
+        }
+        return table;
+    }
+
+    /**
+     * One shot, because JMH sums event counters over the iterations.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void retained(Footprint footprint) {
+        footprint.boxedIntInt = bytesPerEntry(this::boxedIntInt);
+        footprint.intInt = bytesPerEntry(this::intInt);
+        footprint.boxedLongLong = bytesPerEntry(this::boxedLongLong);
+        footprint.longLong = bytesPerEntry(this::longLong);
+        footprint.boxedLongObj = bytesPerEntry(this::boxedLongObj);
+        footprint.longObj = bytesPerEntry(this::longObj);
+    }
+
+    private double bytesPerEntry(Supplier<Object> fill) {
+        long before = usedHeap();
+        Object table = fill.get();
+        long after = usedHeap();
+        Reference.reachabilityFence(table);
+        return (double) (after - before) / size;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Heap held by each filled table after garbage collection, in bytes per entry.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double boxedIntInt;
+        public double intInt;
+        public double boxedLongLong;
+        public double longLong;
+        public double boxedLongObj;
+        public double longObj;
+    }
+}
@@ -1,6 +1,5 @@
 package ru.nsu.lebedev.hashtable;
 
-import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -8,48 +7,81 @@ import java.util.Objects;
 
 /**
  * Class hashtable with methods support a full set of operations.
+ * Open addressing with linear probing over one Object[] array where the key of slot i
+ * is at 2 * i and its value at 2 * i + 1, so a probe reads both from one cache line.
+ * Capacity is a power of two and slots are found by masking the spread hash.
+ * In Robin Hood mode the probe distance of every slot is kept, lookups stop at a slot
+ * whose key is closer to its home than the searched one would be.
+ * Removal shifts the following keys of the cluster back instead of inserting them again.
  *
  * @param <K> type of key.
  * @param <V> type of value.
  */
 public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
     private static final int DEFAULT_CAPACITY = 16;
+    private final ProbingMode mode;
     private int capacity;
     private int size;
     private int modCount;
-    private ArrayList<K> keys;
-    private ArrayList<V> values;
+    private Object[] table;
+    private int[] distances;
 
     /**
-     * Initial method for hashtable.
+     * Initial method for hashtable with linear probing.
      */
     public HashTable() {
+        this(ProbingMode.LINEAR);
+    }
+
+    /**
+     * Initial method for hashtable.
+     *
+     * @param mode collision resolution.
+     */
+    public HashTable(ProbingMode mode) {
+        this.mode = Objects.requireNonNull(mode);
         this.capacity = DEFAULT_CAPACITY;
         this.size = 0;
         this.modCount = 0;
-        this.keys = new ArrayList<>(capacity);
-        this.values = new ArrayList<>(capacity);
-        initializeLists(capacity);
+        allocate();
     }
 
     /**
-     * Initial method for lists of keys and values.
+     * Method for creating empty arrays of current capacity.
      */
-    private void initializeLists(int capacity) {
-        for (int i = 0; i < capacity; i++) {
-            keys.add(null);
-            values.add(null);
-        }
+    private void allocate() {
+        table = new Object[2 * capacity];
+        distances = mode == ProbingMode.ROBIN_HOOD ? new int[capacity] : null;
     }
 
     /**
      * Method for creating hash key.
+     * High bits are mixed into low ones, because only low bits are used by the mask.
      *
      * @param key key for value.
-     * @return hash of key or 0 if key doesn't have value.
+     * @return slot of key or 0 if key doesn't have value.
      */
-    private int hash(K key) {
-        return (key == null) ? 0 : Math.abs(key.hashCode()) % capacity;
+    private int hash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (capacity - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int index) {
+        return (K) table[2 * index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) table[2 * index + 1];
+    }
+
+    private void set(int index, Object key, Object value) {
+        table[2 * index] = key;
+        table[2 * index + 1] = value;
     }
 
     /**
@@ -59,26 +91,31 @@ public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
         size = 0;
         capacity = DEFAULT_CAPACITY;
         modCount = 0;
-        keys.clear();
-        values.clear();
-        initializeLists(capacity);
+        allocate();
     }
 
     /**
-     * Method for resize hashtable if size * 2 bigger than capacity.
+     * Method for checking if the table must grow before one more key is added.
+     *
+     * @return True if size reaches the load factor of the mode.
+     */
+    private boolean isFull() {
+        if (mode == ProbingMode.ROBIN_HOOD) {
+            return size * 10L >= capacity * 9L;
+        }
+        return size * 2 >= capacity;
+    }
+
+    /**
+     * Method for resize hashtable when it reaches the load factor.
      */
     private void resize() {
-        int newCapacity = capacity * 2;
-        final ArrayList<K> oldKeys = keys;
-        final ArrayList<V> oldValues = values;
-        keys = new ArrayList<>(newCapacity);
-        values = new ArrayList<>(newCapacity);
-        initializeLists(newCapacity);
-        capacity = newCapacity;
-        size = 0;
-        for (int i = 0; i < oldKeys.size(); i++) {
-            if (oldKeys.get(i) != null) {
-                put(oldKeys.get(i), oldValues.get(i));
+        final Object[] oldTable = table;
+        capacity *= 2;
+        allocate();
+        for (int i = 0; i < oldTable.length; i += 2) {
+            if (oldTable[i] != null) {
+                insert(oldTable[i], oldTable[i + 1], ~find(oldTable[i]));
             }
         }
     }
@@ -90,38 +127,85 @@ public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
      * @param value new value.
      */
     public void put(K key, V value) {
-        if (size * 2 >= capacity) {
+        if (isFull()) {
             resize();
         }
-        int index = hash(key);
-        while (keys.get(index) != null) {
-            if (Objects.equals(keys.get(index), key)) {
-                values.set(index, value);
-                return;
-            }
-            index = (index + 1) % capacity;
+        int index = find(key);
+        if (index >= 0) {
+            table[2 * index + 1] = value;
+            return;
         }
-        keys.set(index, key);
-        values.set(index, value);
+        insert(key, value, ~index);
         size++;
         modCount++;
     }
 
     /**
-     * Method for getting value from hashtable[key].
+     * Method for placing a key that is not in the table.
+     * In Robin Hood mode the key takes the slot and the evicted key goes on probing.
+     *
+     * @param key new key.
+     * @param value new value.
+     * @param index slot where the search of the key stopped.
+     */
+    private void insert(Object key, Object value, int index) {
+        if (mode == ProbingMode.LINEAR) {
+            set(index, key, value);
+            return;
+        }
+        int mask = capacity - 1;
+        int distance = (index - hash(key)) & mask;
+        while (table[2 * index] != null) {
+            if (distances[index] < distance) {
+                Object residentKey = table[2 * index];
+                Object residentValue = table[2 * index + 1];
+                int residentDistance = distances[index];
+                set(index, key, value);
+                distances[index] = distance;
+                key = residentKey;
+                value = residentValue;
+                distance = residentDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        set(index, key, value);
+        distances[index] = distance;
+    }
+
+    /**
+     * Method for finding slot of key.
      *
      * @param key key.
-     * @return hashtable[key] or null if it doesn't exist.
+     * @return slot of key or ~slot where the search stopped if key doesn't exist.
      */
-    public V get(K key) {
+    private int find(Object key) {
+        int mask = capacity - 1;
         int index = hash(key);
-        while (keys.get(index) != null) {
-            if (key.equals(keys.get(index))) {
-                return values.get(index);
+        int distance = 0;
+        Object current;
+        while ((current = table[2 * index]) != null) {
+            if (distances != null && distances[index] < distance) {
+                return ~index;
+            }
+            if (Objects.equals(current, key)) {
+                return index;
             }
-            index = (index + 1) % capacity;
+            index = (index + 1) & mask;
+            distance++;
         }
-        return null;
+        return ~index;
+    }
+
+    /**
+     * Method for getting value from hashtable[key].
+     *
+     * @param key key.
+     * @return hashtable[key] or null if it doesn't exist.
+     */
+    public V get(K key) {
+        int index = find(key);
+        return index < 0 ? null : valueAt(index);
     }
 
     /**
@@ -131,29 +215,42 @@ public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
      * @return oldValue that was removed or null if it doesn't exist.
      */
     public V remove(K key) {
-        int index = hash(key);
-        while (keys.get(index) != null) {
-            if (Objects.equals(keys.get(index), key)) {
-                final V oldValue = values.get(index);
-                values.set(index, null);
-                keys.set(index, null);
-                size--;
-                modCount++;
-                index = (index + 1) % capacity;
-                while (keys.get(index) != null) {
-                    final K tempKey = keys.get(index);
-                    final V tempValue = values.get(index);
-                    keys.set(index, null);
-                    values.set(index, null);
-                    size--;
-                    put(tempKey, tempValue);
-                    index = (index + 1) % capacity;
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        final V oldValue = valueAt(index);
+        size--;
+        modCount++;
+        shiftBack(index);
+        return oldValue;
+    }
+
+    /**
+     * Method for filling the hole left by a removed key.
+     * Following keys of the cluster that may live in the hole are moved back one by one,
+     * in Robin Hood mode these are exactly the keys that are not in their home slot.
+     *
+     * @param hole slot of the removed key.
+     */
+    private void shiftBack(int hole) {
+        int mask = capacity - 1;
+        int next = (hole + 1) & mask;
+        while (table[2 * next] != null) {
+            if (mode == ProbingMode.ROBIN_HOOD) {
+                if (distances[next] == 0) {
+                    break;
                 }
-                return oldValue;
+                set(hole, table[2 * next], table[2 * next + 1]);
+                distances[hole] = distances[next] - 1;
+                hole = next;
+            } else if (((next - hash(table[2 * next])) & mask) >= ((next - hole) & mask)) {
+                set(hole, table[2 * next], table[2 * next + 1]);
+                hole = next;
             }
-            index = (index + 1) % capacity;
+            next = (next + 1) & mask;
         }
-        return null;
+        set(hole, null, null);
     }
 
     /**
@@ -174,6 +271,31 @@ public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
         return capacity;
     }
 
+    /**
+     * Method for measuring how far keys are from their home slots.
+     *
+     * @return mean, max and variance of the probe distance over all keys.
+     */
+    ProbeStatistics probeStatistics() {
+        int mask = capacity - 1;
+        long sum = 0;
+        long squares = 0;
+        int max = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (table[2 * i] != null) {
+                int distance = distances != null ? distances[i] : (i - hash(table[2 * i])) & mask;
+                sum += distance;
+                squares += (long) distance * distance;
+                max = Math.max(max, distance);
+            }
+        }
+        if (size == 0) {
+            return new ProbeStatistics(0, 0, 0);
+        }
+        double mean = (double) sum / size;
+        return new ProbeStatistics(mean, max, (double) squares / size - mean * mean);
+    }
+
     /**
      * Method for checking key existence in hashtable.
      *
@@ -215,9 +337,9 @@ public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
             return false;
         }
         for (int i = 0; i < capacity; i++) {
-            K key = keys.get(i);
+            K key = keyAt(i);
             if (key != null) {
-                V value = values.get(i);
+                V value = valueAt(i);
                 Object otherValue = other.get(key);
                 if (!Objects.equals(value, otherValue)) {
                     return false;
@@ -235,8 +357,8 @@ public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
     private int hashCodeAll() {
         int hash = 0;
         for (int i = 0; i < capacity; i++) {
-            if (keys.get(i) != null) {
-                hash += Objects.hashCode(keys.get(i)) ^ Objects.hashCode(values.get(i));
+            if (keyAt(i) != null) {
+                hash += Objects.hashCode(keyAt(i)) ^ Objects.hashCode(valueAt(i));
             }
         }
         return hash;
@@ -286,7 +408,7 @@ public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
          */
         @Override
         public boolean hasNext() {
-            while (currentIndex < capacity && keys.get(currentIndex) == null) {
+            while (currentIndex < capacity && keyAt(currentIndex) == null) {
                 currentIndex++;
             }
             return currentIndex < capacity;
@@ -306,7 +428,7 @@ public class HashTable<K, V> implements Iterable<HashTableEntry<K, V>> {
                 throw new NoSuchElementException();
             }
             HashTableEntry<K, V> entry =
-                    new HashTableEntry<>(keys.get(currentIndex), values.get(currentIndex));
+                    new HashTableEntry<>(keyAt(currentIndex), valueAt(currentIndex));
             currentIndex++;
             return entry;
         }
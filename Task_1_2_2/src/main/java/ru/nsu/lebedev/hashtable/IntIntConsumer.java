@@ -0,0 +1,15 @@
+package ru.nsu.lebedev.hashtable;
+
+/**
+ * Interface of a visitor of int keys with int values.
+ */
+@FunctionalInterface
+public interface IntIntConsumer {
+    /**
+     * Method called for every entry.
+     *
+     * @param key key of hashtable.
+     * @param value value of hashtable.
+     */
+    void accept(int key, int value);
+}
@@ -0,0 +1,215 @@
+package ru.nsu.lebedev.hashtable;
+
+import java.util.Arrays;
+
+/**
+ * Hashtable from int keys to int values without boxing.
+ * The same open addressing as HashTable with linear probing: power of two capacity,
+ * masked spread hash, key of slot i at 2 * i and its value at 2 * i + 1 of one int[],
+ * removal by backward shift. Occupied slots are marked in a bitset,
+ * so every key including 0 can be stored and empty slots need no sentinel value.
+ * The table grows when it is 80% full.
+ */
+public class IntIntHashTable {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 29;
+    private int capacity;
+    private int size;
+    private int[] table;
+    private long[] used;
+
+    /**
+     * Initial method for hashtable.
+     */
+    public IntIntHashTable() {
+        this(0);
+    }
+
+    /**
+     * Initial method for hashtable that holds expectedSize keys without resizing.
+     *
+     * @param expectedSize expected number of keys.
+     */
+    public IntIntHashTable(int expectedSize) {
+        capacity = DEFAULT_CAPACITY;
+        while (capacity < MAX_CAPACITY && isFull(expectedSize, capacity)) {
+            capacity *= 2;
+        }
+        allocate();
+    }
+
+    private static boolean isFull(long size, long capacity) {
+        return size * 5 >= capacity * 4;
+    }
+
+    private void allocate() {
+        table = new int[2 * capacity];
+        used = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Method for creating slot of key.
+     * Multiplication by the golden ratio spreads sequential keys over the table.
+     *
+     * @param key key for value.
+     * @return home slot of key.
+     */
+    private int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (capacity - 1);
+    }
+
+    private boolean isUsed(int index) {
+        return (used[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Method for adding key and value to the hashtable.
+     *
+     * @param key new key.
+     * @param value new value.
+     */
+    public void put(int key, int value) {
+        int index = find(key);
+        if (index >= 0) {
+            table[2 * index + 1] = value;
+            return;
+        }
+        if (isFull(size, capacity)) {
+            resize();
+            index = find(key);
+        }
+        index = ~index;
+        table[2 * index] = key;
+        table[2 * index + 1] = value;
+        used[index >>> 6] |= 1L << index;
+        size++;
+    }
+
+    /**
+     * Method for getting value from hashtable[key].
+     *
+     * @param key key.
+     * @param defaultValue value returned if key doesn't exist.
+     * @return hashtable[key] or defaultValue.
+     */
+    public int get(int key, int defaultValue) {
+        int index = find(key);
+        return index < 0 ? defaultValue : table[2 * index + 1];
+    }
+
+    /**
+     * Method for checking key existence in hashtable.
+     *
+     * @param key the key.
+     * @return True or False.
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Method for remove key and value from hashtable.
+     *
+     * @param key key that will be deleted.
+     * @return True if key existed.
+     */
+    public boolean remove(int key) {
+        int index = find(key);
+        if (index < 0) {
+            return false;
+        }
+        size--;
+        int mask = capacity - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (isUsed(next)) {
+            if (((next - hash(table[2 * next])) & mask) >= ((next - hole) & mask)) {
+                table[2 * hole] = table[2 * next];
+                table[2 * hole + 1] = table[2 * next + 1];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole >>> 6] &= ~(1L << hole);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Method for visiting all keys and values without creating entries.
+     *
+     * @param action called for every key and its value.
+     */
+    public void forEach(IntIntConsumer action) {
+        for (int word = 0; word < used.length; word++) {
+            long bits = used[word];
+            while (bits != 0) {
+                int index = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                action.accept(table[2 * index], table[2 * index + 1]);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Method for removing all keys, capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(used, 0);
+        size = 0;
+    }
+
+    /**
+     * Method for finding slot of key.
+     *
+     * @param key key.
+     * @return slot of key or ~slot of the empty slot where the search stopped.
+     */
+    private int find(int key) {
+        int mask = capacity - 1;
+        int index = hash(key);
+        while (isUsed(index)) {
+            if (table[2 * index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return ~index;
+    }
+
+    /**
+     * Method for doubling capacity.
+     */
+    private void resize() {
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Hashtable can't grow over " + MAX_CAPACITY);
+        }
+        final int[] oldTable = table;
+        final long[] oldUsed = used;
+        capacity *= 2;
+        allocate();
+        int mask = capacity - 1;
+        for (int word = 0; word < oldUsed.length; word++) {
+            long bits = oldUsed[word];
+            while (bits != 0) {
+                int old = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int index = hash(oldTable[2 * old]);
+                while (isUsed(index)) {
+                    index = (index + 1) & mask;
+                }
+                table[2 * index] = oldTable[2 * old];
+                table[2 * index + 1] = oldTable[2 * old + 1];
+                used[index >>> 6] |= 1L << index;
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.nsu.lebedev.hashtable;
+
+/**
+ * Interface of a visitor of long keys with long values.
+ */
+@FunctionalInterface
+public interface LongLongConsumer {
+    /**
+     * Method called for every entry.
+     *
+     * @param key key of hashtable.
+     * @param value value of hashtable.
+     */
+    void accept(long key, long value);
+}
@@ -0,0 +1,17 @@
+package ru.nsu.lebedev.hashtable;
+
+/**
+ * Interface of a visitor of long keys with object values.
+ *
+ * @param <V> type of value.
+ */
+@FunctionalInterface
+public interface LongObjConsumer<V> {
+    /**
+     * Method called for every entry.
+     *
+     * @param key key of hashtable.
+     * @param value value of hashtable.
+     */
+    void accept(long key, V value);
+}
@@ -0,0 +1,226 @@
+package ru.nsu.lebedev.hashtable;
+
+import java.util.Arrays;
+
+/**
+ * Hashtable from long keys to objects without boxing keys.
+ * The same open addressing as HashTable with linear probing: power of two capacity,
+ * masked spread hash and removal by backward shift. Keys are in a long[] and values
+ * in an Object[] at the same slot. Occupied slots are marked in a bitset,
+ * so every key including 0 and null values can be stored.
+ * The table grows when it is 80% full.
+ *
+ * @param <V> type of value.
+ */
+public class LongObjHashTable<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private int capacity;
+    private int size;
+    private long[] keys;
+    private Object[] values;
+    private long[] used;
+
+    /**
+     * Initial method for hashtable.
+     */
+    public LongObjHashTable() {
+        this(0);
+    }
+
+    /**
+     * Initial method for hashtable that holds expectedSize keys without resizing.
+     *
+     * @param expectedSize expected number of keys.
+     */
+    public LongObjHashTable(int expectedSize) {
+        capacity = DEFAULT_CAPACITY;
+        while (capacity < MAX_CAPACITY && isFull(expectedSize, capacity)) {
+            capacity *= 2;
+        }
+        allocate();
+    }
+
+    private static boolean isFull(long size, long capacity) {
+        return size * 5 >= capacity * 4;
+    }
+
+    private void allocate() {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        used = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Method for creating slot of key.
+     * Multiplication by the golden ratio spreads sequential keys over the table.
+     *
+     * @param key key for value.
+     * @return home slot of key.
+     */
+    private int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        int x = (int) (h ^ (h >>> 32));
+        return (x ^ (x >>> 16)) & (capacity - 1);
+    }
+
+    private boolean isUsed(int index) {
+        return (used[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Method for adding key and value to the hashtable.
+     *
+     * @param key new key.
+     * @param value new value.
+     */
+    public void put(long key, V value) {
+        int index = find(key);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        if (isFull(size, capacity)) {
+            resize();
+            index = find(key);
+        }
+        index = ~index;
+        keys[index] = key;
+        values[index] = value;
+        used[index >>> 6] |= 1L << index;
+        size++;
+    }
+
+    /**
+     * Method for getting value from hashtable[key].
+     *
+     * @param key key.
+     * @return hashtable[key] or null if it doesn't exist.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = find(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Method for checking key existence in hashtable.
+     *
+     * @param key the key.
+     * @return True or False.
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Method for remove key and value from hashtable.
+     *
+     * @param key key that will be deleted.
+     * @return oldValue that was removed or null if it doesn't exist.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        final V oldValue = (V) values[index];
+        size--;
+        int mask = capacity - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (isUsed(next)) {
+            if (((next - hash(keys[next])) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[hole] = null;
+        used[hole >>> 6] &= ~(1L << hole);
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Method for visiting all keys and values without creating entries.
+     *
+     * @param action called for every key and its value.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjConsumer<? super V> action) {
+        for (int word = 0; word < used.length; word++) {
+            long bits = used[word];
+            while (bits != 0) {
+                int index = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                action.accept(keys[index], (V) values[index]);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Method for removing all keys, capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(used, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Method for finding slot of key.
+     *
+     * @param key key.
+     * @return slot of key or ~slot of the empty slot where the search stopped.
+     */
+    private int find(long key) {
+        int mask = capacity - 1;
+        int index = hash(key);
+        while (isUsed(index)) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return ~index;
+    }
+
+    /**
+     * Method for doubling capacity.
+     */
+    private void resize() {
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Hashtable can't grow over " + MAX_CAPACITY);
+        }
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final long[] oldUsed = used;
+        capacity *= 2;
+        allocate();
+        int mask = capacity - 1;
+        for (int word = 0; word < oldUsed.length; word++) {
+            long bits = oldUsed[word];
+            while (bits != 0) {
+                int old = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int index = hash(oldKeys[old]);
+                while (isUsed(index)) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[old];
+                values[index] = oldValues[old];
+                used[index >>> 6] |= 1L << index;
+            }
+        }
+    }
+}
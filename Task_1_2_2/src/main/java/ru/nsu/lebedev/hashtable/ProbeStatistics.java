@@ -0,0 +1,11 @@
+package ru.nsu.lebedev.hashtable;
+
+/**
+ * Probe distances of the keys of a HashTable: how many slots each key is after its home slot.
+ *
+ * @param mean average distance.
+ * @param max longest distance, a lookup of a missing key never probes further in Robin Hood mode.
+ * @param variance variance of the distance.
+ */
+record ProbeStatistics(double mean, int max, double variance) {
+}
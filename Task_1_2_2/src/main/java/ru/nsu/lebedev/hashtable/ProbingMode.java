@@ -0,0 +1,17 @@
+package ru.nsu.lebedev.hashtable;
+
+/**
+ * Collision resolution of HashTable.
+ */
+public enum ProbingMode {
+    /**
+     * Plain linear probing, the table is grown when it is half full.
+     */
+    LINEAR,
+    /**
+     * Linear probing where an inserted key takes the slot of a key closer to its home slot.
+     * Probe lengths stay even, at 90% load keys are about 4 slots from home with a spread
+     * close to the mean, so the table is grown only when it is 90% full.
+     */
+    ROBIN_HOOD
+}
@@ -7,8 +7,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -132,4 +135,89 @@ public class HashTableTest {
         hashTable.put("two", 2);
         assertThrows(ConcurrentModificationException.class, iterator::next);
     }
+
+    @Test
+    void extremeHashCodesTest() {
+        HashTable<Integer, String> otherHashTable = new HashTable<>();
+        otherHashTable.put(Integer.MIN_VALUE, "min");
+        otherHashTable.put(Integer.MAX_VALUE, "max");
+        otherHashTable.put(-1, "minus one");
+        assertEquals("min", otherHashTable.get(Integer.MIN_VALUE));
+        assertEquals("max", otherHashTable.get(Integer.MAX_VALUE));
+        assertEquals("minus one", otherHashTable.remove(-1));
+        assertEquals(2, otherHashTable.size());
+    }
+
+    @Test
+    void robinHoodResizeTest() {
+        HashTable<Number, Number> otherHashTable = new HashTable<>(ProbingMode.ROBIN_HOOD);
+        for (int i = 0; i < 29; i++) {
+            otherHashTable.put(i, i);
+        }
+        assertEquals(32, otherHashTable.capacity());
+        otherHashTable.put(29, 29);
+        assertEquals(64, otherHashTable.capacity());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i, otherHashTable.remove(i));
+        }
+        assertEquals(0, otherHashTable.size());
+        assertEquals(64, otherHashTable.capacity());
+    }
+
+    @Test
+    void randomOperationsTest() {
+        randomOperations(ProbingMode.LINEAR);
+        randomOperations(ProbingMode.ROBIN_HOOD);
+    }
+
+    @Test
+    void probeDistanceTest() {
+        ProbeStatistics linear = randomKeys(ProbingMode.LINEAR);
+        ProbeStatistics robinHood = randomKeys(ProbingMode.ROBIN_HOOD);
+        assertTrue(linear.mean() < 1 && linear.variance() < 2);
+        assertTrue(robinHood.mean() < 6 && robinHood.variance() < 32 && robinHood.max() < 64);
+        assertTrue(Math.sqrt(robinHood.variance()) / robinHood.mean()
+                < Math.sqrt(linear.variance()) / linear.mean());
+    }
+
+    /**
+     * Fills a table with random keys up to its load factor: 0.45 for linear, 0.89 for Robin Hood.
+     */
+    private static ProbeStatistics randomKeys(ProbingMode mode) {
+        HashTable<Integer, Integer> otherHashTable = new HashTable<>(mode);
+        Random random = new Random(49);
+        for (int i = 0; i < 117_000; i++) {
+            otherHashTable.put(random.nextInt(), i);
+        }
+        assertTrue(otherHashTable.size() * 10L > otherHashTable.capacity()
+                * (mode == ProbingMode.LINEAR ? 4L : 8L));
+        return otherHashTable.probeStatistics();
+    }
+
+    private static void randomOperations(ProbingMode mode) {
+        HashTable<Integer, Integer> otherHashTable = new HashTable<>(mode);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(48);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(5000) * 64;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), otherHashTable.remove(key));
+            } else if (random.nextInt(2) == 0) {
+                assertEquals(expected.get(key), otherHashTable.get(key));
+            } else {
+                expected.put(key, i);
+                otherHashTable.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), otherHashTable.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), otherHashTable.get(entry.getKey()));
+        }
+        int count = 0;
+        for (HashTableEntry<Integer, Integer> entry : otherHashTable) {
+            assertEquals(expected.get(entry.key), entry.value);
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
 }
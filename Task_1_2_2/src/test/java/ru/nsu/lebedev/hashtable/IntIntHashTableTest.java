@@ -0,0 +1,95 @@
+package ru.nsu.lebedev.hashtable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing IntIntHashTable class.
+ */
+public class IntIntHashTableTest {
+    private IntIntHashTable hashTable;
+
+    /**
+     * Function for creating default hashtable.
+     */
+    @BeforeEach
+    public void setUp() {
+        hashTable = new IntIntHashTable();
+        hashTable.put(1, 10);
+    }
+
+    @Test
+    void putAndGetTest() {
+        hashTable.put(0, 7);
+        hashTable.put(Integer.MIN_VALUE, -7);
+        hashTable.put(1, 11);
+        assertEquals(11, hashTable.get(1, -1));
+        assertEquals(7, hashTable.get(0, -1));
+        assertEquals(-7, hashTable.get(Integer.MIN_VALUE, -1));
+        assertEquals(-1, hashTable.get(2, -1));
+        assertEquals(3, hashTable.size());
+    }
+
+    @Test
+    void removeTest() {
+        assertTrue(hashTable.remove(1));
+        assertFalse(hashTable.remove(1));
+        assertFalse(hashTable.containsKey(1));
+        assertEquals(0, hashTable.size());
+    }
+
+    @Test
+    void resizeTest() {
+        for (int i = 0; i < 13; i++) {
+            hashTable.put(i, i);
+        }
+        assertEquals(16, hashTable.capacity());
+        hashTable.put(13, 13);
+        assertEquals(32, hashTable.capacity());
+        assertEquals(1024, new IntIntHashTable(800).capacity());
+    }
+
+    @Test
+    void forEachTest() {
+        hashTable.put(2, 20);
+        hashTable.put(3, 30);
+        long[] sums = new long[2];
+        hashTable.forEach((key, value) -> {
+            sums[0] += key;
+            sums[1] += value;
+        });
+        assertEquals(6, sums[0]);
+        assertEquals(60, sums[1]);
+        hashTable.clear();
+        assertEquals(0, hashTable.size());
+        assertFalse(hashTable.containsKey(2));
+    }
+
+    @Test
+    void randomOperationsTest() {
+        Map<Integer, Integer> expected = new HashMap<>();
+        expected.put(1, 10);
+        Random random = new Random(50);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(10_000) * 1024;
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                assertEquals(expected.remove(key) != null, hashTable.remove(key));
+            } else if (operation == 1) {
+                assertEquals(expected.getOrDefault(key, -1), hashTable.get(key, -1));
+            } else {
+                expected.put(key, i);
+                hashTable.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), hashTable.size());
+        hashTable.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+}
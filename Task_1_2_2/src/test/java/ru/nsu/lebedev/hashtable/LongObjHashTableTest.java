@@ -0,0 +1,83 @@
+package ru.nsu.lebedev.hashtable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class for testing LongObjHashTable class.
+ */
+public class LongObjHashTableTest {
+    private LongObjHashTable<String> hashTable;
+
+    /**
+     * Function for creating default hashtable.
+     */
+    @BeforeEach
+    public void setUp() {
+        hashTable = new LongObjHashTable<>();
+        hashTable.put(1L, "one");
+    }
+
+    @Test
+    void putAndGetTest() {
+        hashTable.put(0L, "zero");
+        hashTable.put(Long.MIN_VALUE, "min");
+        hashTable.put(1L, "uno");
+        hashTable.put(2L, null);
+        assertEquals("uno", hashTable.get(1L));
+        assertEquals("zero", hashTable.get(0L));
+        assertEquals("min", hashTable.get(Long.MIN_VALUE));
+        assertNull(hashTable.get(2L));
+        assertTrue(hashTable.containsKey(2L));
+        assertFalse(hashTable.containsKey(3L));
+        assertEquals(4, hashTable.size());
+    }
+
+    @Test
+    void removeTest() {
+        assertEquals("one", hashTable.remove(1L));
+        assertNull(hashTable.remove(1L));
+        assertFalse(hashTable.containsKey(1L));
+        assertEquals(0, hashTable.size());
+    }
+
+    @Test
+    void forEachTest() {
+        hashTable.put(2L, "two");
+        Map<Long, String> visited = new HashMap<>();
+        hashTable.forEach(visited::put);
+        assertEquals(Map.of(1L, "one", 2L, "two"), visited);
+        hashTable.clear();
+        assertEquals(0, hashTable.size());
+        assertNull(hashTable.get(1L));
+    }
+
+    @Test
+    void randomOperationsTest() {
+        Map<Long, String> expected = new HashMap<>();
+        expected.put(1L, "one");
+        Random random = new Random(52);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(10_000) * (1L << 36);
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                assertEquals(expected.remove(key), hashTable.remove(key));
+            } else if (operation == 1) {
+                assertEquals(expected.get(key), hashTable.get(key));
+            } else {
+                expected.put(key, Integer.toString(i));
+                hashTable.put(key, Integer.toString(i));
+            }
+        }
+        assertEquals(expected.size(), hashTable.size());
+        hashTable.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+}